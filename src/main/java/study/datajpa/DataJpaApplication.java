@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @EnableJpaAuditing // Auditing 적용하려면 반드시 넣어야 함
+@EnableScheduling // 아웃박스 이벤트 발행(ChangeEventRelay) 등 주기 작업
 @SpringBootApplication // 스프링부트는 현재 패키지부터 모든 하위패키지 까지 등록된 컴포넌트스캔(빈으로 등록된 것)을 끌어옴
 public class DataJpaApplication {
 
@@ -0,0 +1,18 @@
+package study.datajpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class CacheWebConfig implements WebMvcConfigurer {
+
+    private final MemberViewCache memberViewCache;
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(new MemberViewConverter(memberViewCache));
+    }
+}
@@ -0,0 +1,78 @@
+package study.datajpa.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 자주 조회되는 앞쪽 회원 페이지(Page<MemberDto>) 캐시
+ *  - 키는 (page, size, sort). 앞쪽 datajpa.page-cache.max-page 페이지까지만 캐시하고 그 뒤는 그냥 DB 조회
+ *  - content 쿼리 + count 쿼리 + DTO 변환 결과를 통째로 캐시
+ *  - 회원/팀이 바뀌면 어느 페이지에 영향이 갈지 알 수 없으므로 전부 무효화 (커밋된 EntityChangedEvent 기준)
+ *  - 동시 미스 합치기, stale-while-revalidate는 RefreshingCache 참고
+ */
+@Component
+public class MemberPageCache implements DisposableBean {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    private final RefreshingCache<Pageable, Page<MemberDto>> cache;
+    private final int maxPage;
+
+    public MemberPageCache(MemberRepository memberRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${datajpa.page-cache.max-size:200}") int maxSize,
+                           @Value("${datajpa.page-cache.max-page:5}") int maxPage,
+                           @Value("${datajpa.page-cache.refresh-after:PT5S}") Duration refreshAfter,
+                           @Value("${datajpa.page-cache.expire-after:PT1M}") Duration expireAfter) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = new RefreshingCache<>(maxSize, refreshAfter, expireAfter, refreshExecutor);
+        this.maxPage = maxPage;
+    }
+
+    public Page<MemberDto> findPage(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getPageNumber() >= maxPage) {
+            return load(pageable);
+        }
+        // PageRequest로 맞춰서 같은 (page, size, sort)면 같은 키가 되게 함
+        Pageable key = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return cache.get(key, this::load);
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        if (event.isMember() || event.isTeam()) {
+            cache.invalidateAll();
+        }
+    }
+
+    public RefreshingCache<Pageable, Page<MemberDto>> getCache() {
+        return cache;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // 백그라운드 갱신 스레드에서도 호출되므로 트랜잭션을 직접 열어서 팀 이름까지 DTO로 변환
+    private Page<MemberDto> load(Pageable pageable) {
+        return readOnlyTransaction.execute(status -> memberRepository.findAll(pageable).map(MemberDto::new));
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.MemberView;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+
+/**
+ * id -> MemberView 니어 캐시
+ *  - 캐시에 있으면 DB도, 영속성 컨텍스트도 거치지 않음
+ *  - 없으면 findViewById로 필요한 컬럼만 조회 (엔티티를 만들지 않음)
+ *  - 회원이 수정/삭제되면 커밋된 EntityChangedEvent로 바로 무효화, 그 외엔 TTL이 지나면 다시 조회
+ */
+@Component
+public class MemberViewCache {
+
+    private final MemberRepository memberRepository;
+    private final TtlCache<Long, MemberView> cache;
+
+    public MemberViewCache(MemberRepository memberRepository,
+                           @Value("${datajpa.member-view-cache.max-size:10000}") int maxSize,
+                           @Value("${datajpa.member-view-cache.ttl:PT30S}") Duration ttl) {
+        this.memberRepository = memberRepository;
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    public MemberView get(Long id) {
+        return cache.get(id, key -> memberRepository.findViewById(key).orElse(null));
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        // insert는 캐시에 없는 값(null은 캐시 안 함)이라 무효화할 필요 없음
+        if (event.isMember() && event.getOperation() != ChangeOperation.INSERT) {
+            cache.invalidate(event.getAggregateId());
+        }
+    }
+
+    public TtlCache<Long, MemberView> getCache() {
+        return cache;
+    }
+}
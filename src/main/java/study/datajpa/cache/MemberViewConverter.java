@@ -0,0 +1,21 @@
+package study.datajpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import study.datajpa.dto.MemberView;
+
+/**
+ * 도메인 클래스 컨버터(DomainClassConverter)의 캐시 버전
+ *  - @PathVariable("id") MemberView member 처럼 받으면 id 문자열을 MemberViewCache로 바로 변환
+ *  - 엔티티를 조회하지 않으므로 변경 감지 걱정 없이 조회용으로만 쓰는 용도에 딱 맞음
+ */
+@RequiredArgsConstructor
+public class MemberViewConverter implements Converter<String, MemberView> {
+
+    private final MemberViewCache memberViewCache;
+
+    @Override
+    public MemberView convert(String source) {
+        return memberViewCache.get(Long.valueOf(source));
+    }
+}
@@ -0,0 +1,147 @@
+package study.datajpa.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 요청 합치기(coalescing) + stale-while-revalidate 캐시 (cache-aside)
+ *
+ *  - 같은 키로 동시에 미스가 나면 한 스레드만 DB를 조회하고 나머지는 그 결과를 같이 기다림 (캐시 스탬피드 방지)
+ *  - 적재 후 refreshAfter가 지나면 일단 이전 값(stale)을 바로 돌려주고, 뒤에서 한 번만 다시 조회
+ *  - expireAfter가 지나면 이전 값은 버리고 요청 스레드에서 다시 조회 (이때도 합치기 적용)
+ *  - maxSize를 넘으면 가장 오래 안 쓴 항목부터 밀어냄 (LRU)
+ *  - 무효화 도중에 끝난 조회 결과는 기다리던 요청에만 돌려주고 캐시에는 넣지 않음
+ */
+public class RefreshingCache<K, V> {
+
+    private final int maxSize;
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final Executor refreshExecutor;
+
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public RefreshingCache(int maxSize, Duration refreshAfter, Duration expireAfter, Executor refreshExecutor) {
+        this.maxSize = maxSize;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > RefreshingCache.this.maxSize;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAt < expireAfterNanos) {
+            if (now - entry.loadedAt >= refreshAfterNanos) {
+                staleHits.incrementAndGet();
+                refreshAsync(key, loader);
+            } else {
+                hits.incrementAndGet();
+            }
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        try {
+            return load(key, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long staleHitCount() {
+        return staleHits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    // 실제 DB 조회 횟수 (missCount보다 작으면 그만큼 합쳐진 것)
+    public long loadCount() {
+        return loads.get();
+    }
+
+    private void refreshAsync(K key, Function<K, V> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> load(key, loader));
+    }
+
+    private CompletableFuture<V> load(K key, Function<K, V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            long loadingGeneration = generation.get();
+            loads.incrementAndGet();
+            V value = loader.apply(key);
+            synchronized (entries) {
+                if (value != null && generation.get() == loadingGeneration) {
+                    entries.put(key, new Entry<>(value, System.nanoTime()));
+                }
+            }
+            mine.complete(value);
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return mine;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -4,24 +4,44 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.cache.MemberPageCache;
+import study.datajpa.dto.MemberChangesDto;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberView;
 import study.datajpa.entity.Member;
+import study.datajpa.index.MemberSearchIndex;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberQueryService;
+import study.datajpa.service.MemberSearchService;
+import study.datajpa.service.MemberSyncService;
+import study.datajpa.service.SyncWatermark;
+import study.datajpa.web.RouteGuard;
+import study.datajpa.web.SortableFields;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberSyncService memberSyncService;
+    private final MemberPageCache memberPageCache;
+    private final MemberSearchService memberSearchService;
+    private final MemberQueryService memberQueryService;
+    private final SortableFields memberSorts; // 허용하는 sort 키 (SortConfig)
+    private final RouteGuard routeGuard; // 라우트별 비용 검사, 동시 실행 제한, 쿼리 타임아웃
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
+        Member member = routeGuard.call("members.id", () -> memberRepository.findById(id).get());
         return member.getUsername();
     }
 
@@ -29,31 +49,72 @@ public class MemberController {
     // 주의: 도메인 클래스 컨버터로 엔티티를 파라미터로 받으면, 이 엔티티는 단순 조회용으로만 사용해야 한다.
     // (트랜잭션이 없는 범위에서 엔티티를 조회했으므로, 엔티티를 변경해도 DB에 반영되지 않는다.)
     // -> 결과적으로 편해보이지만 권장하진 않음. 정 쓸거면 조회용으로만!
+    // -> 지금은 엔티티 대신 캐시된 읽기 전용 뷰(MemberView)로 받음. 요청마다 findById로 엔티티를 만들지 않음 (MemberViewConverter)
     @GetMapping("/members2/{id}")
-    public String findMember2(@PathVariable("id") Member member) {
+    public String findMember2(@PathVariable("id") MemberView member) {
         return member.getUsername();
     }
 
     @GetMapping("/members")
     public Page<Member> list(Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
+        Pageable sorted = memberSorts.resolve(pageable);
+        Page<Member> page = routeGuard.call("members", sorted, () -> memberRepository.findAll(sorted));
         return page;
     }
 
     // 이렇게 하면 @PageableDefault로 인해, yml 글로벌설정보다 우선권을 가져서 적용됨
     @GetMapping("/members2")
     public Page<Member> list2(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
+        Pageable sorted = memberSorts.resolve(pageable);
+        Page<Member> page = routeGuard.call("members2", sorted, () -> memberRepository.findAll(sorted));
         return page;
     }
 
     // 사실 엔티티 객체를 그대로 노출하면 안됨 (설계를 그대로 드러내는 것이므로) 항상 DTO로 반환해야함!
     @GetMapping("/members3")
     public Page<MemberDto> list3(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
+//        Page<Member> page = memberRepository.findAll(pageable);
 //        Page<MemberDto> map = page.map(member -> new MemberDto(member.getId(), member.getUsername(), null));
-        Page<MemberDto> map = page.map(MemberDto::new);
-        return map;
+//        Page<MemberDto> map = page.map(MemberDto::new);
+        // 앞쪽 페이지는 요청이 몰리므로 DTO 변환 결과까지 캐시 (MemberPageCache)
+        Pageable sorted = memberSorts.resolve(pageable);
+        return routeGuard.call("members3", sorted, () -> memberPageCache.findPage(sorted));
+    }
+
+    // 나이로 페이지 조회. content 쿼리와 count 쿼리를 동시에 실행 (MemberQueryService)
+    // 타임아웃은 ParallelQueryExecutor가 쿼리마다 트랜잭션에 걸어서 RouteGuard는 트랜잭션 없이 감쌈
+    @GetMapping("/members/age/{age}")
+    public Page<Member> listByAge(@PathVariable("age") int age, Pageable pageable) {
+        Pageable sorted = memberSorts.resolve(pageable);
+        return routeGuard.callParallel("members.age", sorted, () -> memberQueryService.findByAge(age, sorted));
+    }
+
+    // 증분 동기화: since(워터마크) 이후 변경/삭제된 회원만 내려줌. 처음엔 since 없이 호출하고, 이후엔 응답의 watermark를 그대로 넘기면 됨
+    // size는 1~2000 으로 맞추고, 워터마크 형식이 틀리면 400
+    // (/members/{id} 보다 고정 경로가 우선 매칭됨)
+    @GetMapping("/members/changes")
+    public MemberChangesDto changes(@RequestParam(value = "since", required = false) String since,
+                                    @RequestParam(value = "size", defaultValue = "100") int size) {
+        SyncWatermark watermark;
+        try {
+            watermark = SyncWatermark.parse(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since 워터마크 형식이 잘못되었습니다: " + since, e);
+        }
+        int limit = Math.max(1, Math.min(size, 2000));
+        return routeGuard.call("members.changes", () -> memberSyncService.changesSince(watermark, limit));
+    }
+
+    // username, 팀 이름 부분 문자열 검색 (like '%q%' 대신 인메모리 역색인 사용, 순위순). limit은 1~200 으로 맞춤
+    // 검색어가 3글자 미만이면 400 (색인으로 후보를 줄일 수 없음, MemberSearchIndex)
+    @GetMapping("/members/search/text")
+    public List<MemberDto> searchText(@RequestParam("q") String q,
+                                      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (q.trim().length() < MemberSearchIndex.MIN_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "검색어는 " + MemberSearchIndex.MIN_QUERY_LENGTH + "글자 이상이어야 합니다: " + q);
+        }
+        return routeGuard.call("members.search", () -> memberSearchService.search(q, Math.max(1, Math.min(limit, 200))));
     }
 
     // 데이터가 없어서 일단 'web확장 - 도메인 클래스 컨버터' 테스트를 위해 하나 넣어두겠음
@@ -0,0 +1,53 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.TeamAgeStats;
+import study.datajpa.service.MemberStatsService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 회원 통계 리포트. 인메모리 컬럼 저장소에서 집계하므로 DB를 조회하지 않음 (MemberStatsService)
+// 시작 직후 저장소 적재가 끝나기 전에는 일부만 집계되므로 503
+@RestController
+@RequiredArgsConstructor
+public class MemberStatsController {
+
+    private final MemberStatsService memberStatsService;
+
+    @GetMapping("/members/stats/teams")
+    public List<TeamAgeStats> teams() {
+        return serve(memberStatsService::teamAgeStats);
+    }
+
+    // ex) /members/stats/ages/histogram?bucket=10&teamId=1
+    @GetMapping("/members/stats/ages/histogram")
+    public Map<String, Long> ageHistogram(@RequestParam(value = "bucket", defaultValue = "10") int bucket,
+                                          @RequestParam(value = "teamId", required = false) Long teamId) {
+        return serve(() -> memberStatsService.ageHistogram(bucket, teamId));
+    }
+
+    // ex) /members/stats/ages/percentiles?p=50,90,99
+    @GetMapping("/members/stats/ages/percentiles")
+    public Map<Double, Integer> agePercentiles(@RequestParam(value = "p", defaultValue = "50,90,99") double[] percentiles,
+                                               @RequestParam(value = "teamId", required = false) Long teamId) {
+        return serve(() -> memberStatsService.agePercentiles(percentiles, teamId));
+    }
+
+    private <T> T serve(Supplier<T> stats) {
+        if (!memberStatsService.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "통계 데이터를 적재하는 중입니다. 잠시 후 다시 시도하세요");
+        }
+        try {
+            return stats.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
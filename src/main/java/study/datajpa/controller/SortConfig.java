@@ -0,0 +1,22 @@
+package study.datajpa.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.web.SortableFields;
+
+// 엔드포인트별 정렬 허용 키 (SortableFields)
+// 컨트롤러는 resolve()로 요청 정렬을 바꾸고, RouteGuard는 같은 목록으로 인덱스를 타는 정렬인지 판단함 (목록을 따로 관리하지 않음)
+@Configuration
+public class SortConfig {
+
+    // /members, /members2, /members3 에서 허용하는 sort 키 (전부 (컬럼, member_id) 인덱스가 있는 정렬, Member @Table 참고)
+    // ex) ?sort=username,desc -> order by username desc, id desc
+    @Bean
+    public SortableFields memberSorts() {
+        return SortableFields.tieBreaker("id")
+                .allow("username")
+                .allow("age")
+                .allow("lastModifiedDate")
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 증분 동기화 응답: 워터마크 이후 변경/삭제된 회원 + 다음 요청에 쓸 워터마크
+@Getter
+public class MemberChangesDto {
+
+    private final List<MemberDto> changed;
+    private final List<Long> deletedIds;
+    private final String watermark;
+    private final boolean hasMore; // true면 바로 이어서 다음 워터마크로 다시 요청
+
+    public MemberChangesDto(List<MemberDto> changed, List<Long> deletedIds, String watermark, boolean hasMore) {
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+        this.watermark = watermark;
+        this.hasMore = hasMore;
+    }
+}
@@ -20,6 +20,6 @@ public class MemberDto {
     public MemberDto(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
-        this.teamName = member.getTeam().getName();
+        this.teamName = member.getTeam() == null ? null : member.getTeam().getName(); // 팀이 없는 회원도 있음
     }
 }
@@ -0,0 +1,26 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+// 특정 시점의 회원 상태 (MemberHistoryRepository.asOf). validFrom: 이 상태가 된 시각
+@Getter
+@ToString
+public class MemberSnapshot {
+
+    private final Long id;
+    private final String username;
+    private final int age;
+    private final Long teamId;
+    private final Instant validFrom;
+
+    public MemberSnapshot(Long id, String username, int age, Long teamId, Instant validFrom) {
+        this.id = id;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.validFrom = validFrom;
+    }
+}
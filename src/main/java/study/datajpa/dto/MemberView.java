@@ -0,0 +1,23 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+/**
+ * 캐시에 넣어두는 읽기 전용 회원 뷰
+ *  - 엔티티가 아니라서 영속성 컨텍스트에 묶이지 않고, 여러 요청/스레드가 같은 인스턴스를 공유해도 안전 (불변)
+ */
+@Getter
+public class MemberView {
+
+    private final Long id;
+    private final String username;
+    private final int age;
+    private final Long teamId;
+
+    public MemberView(Long id, String username, int age, Long teamId) {
+        this.id = id;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+// 팀별 나이 통계 (teamId가 null이면 팀이 없는 회원)
+@Getter
+public class TeamAgeStats {
+
+    private final Long teamId;
+    private final long count;
+    private final int minAge;
+    private final int maxAge;
+    private final double averageAge;
+
+    public TeamAgeStats(Long teamId, long count, int minAge, int maxAge, double averageAge) {
+        this.teamId = teamId;
+        this.count = count;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.averageAge = averageAge;
+    }
+}
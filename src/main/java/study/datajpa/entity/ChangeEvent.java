@@ -0,0 +1,61 @@
+package study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 (Member, Team 변경 이벤트)
+ *  - 엔티티 변경과 같은 트랜잭션 안에서 한 줄씩 쌓이고, ChangeEventRelay가 모아서 외부로 발행한다.
+ *  - 저장은 JPA persist가 아니라 ChangeEventOutbox가 JDBC 배치 insert로 직접 함 -> 자동 증가 키(IDENTITY) 사용
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_change_event_type_operation", columnList = "aggregateType, operation, event_id") // 삭제 tombstone 조회용
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "aggregateType", "aggregateId", "operation"})
+public class ChangeEvent {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;
+
+    private String aggregateType;
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeOperation operation;
+
+    // 변경 후 상태 (삭제면 삭제 직전 상태) JSON. 연관관계는 id만
+    @Column(length = 2000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+
+    public ChangeEvent(String aggregateType, Long aggregateId, ChangeOperation operation, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.operation = operation;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void markPublished(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
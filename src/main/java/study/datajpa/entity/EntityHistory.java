@@ -0,0 +1,57 @@
+package study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Member/Team 변경 이력 (append-only, 시점 조회용)
+ *  - 한 행 = validFrom 시각부터 다음 행 전까지 유효했던 상태. 삭제면 그 시각부터 없음
+ *  - 아웃박스(ChangeEvent)와 같은 JDBC 배치로 같은 트랜잭션에서 insert (ChangeEventOutbox) -> 수정/삭제하지 않음 (보존 기간 정리만)
+ *  - ChangeEvent는 발행이 목적이라 발행 후 정리될 수 있지만, 이력은 "X가 T 시점에 어땠나" 조회가 목적
+ *
+ * validFrom
+ *  - UTC epoch 밀리초로 저장 (EpochMillisConverter). 서버 시간대/서머타임과 무관하게 비교
+ *  - 커밋 직전(아웃박스 insert 시점)의 시각이라 실제 커밋 시각보다 조금 이름. 한 트랜잭션의 행은 모두 같은 시각
+ *    -> asOf(T)가 T에 아직 커밋 중이던 상태를 돌려줄 수 있고, 동시에 커밋된 트랜잭션끼리의 순서는 커밋 순서와 다를 수 있음
+ *       (커밋 직전 ~ 커밋 사이의 짧은 구간. 감사용으로 정확한 커밋 순서가 필요하면 DB 커밋 로그(CDC) 기준으로 남겨야 함)
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_entity_history_entity_valid_from", columnList = "entityType, entityId, validFrom") // asOf: 시점 이전 마지막 행
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "entityType", "entityId", "operation", "validFrom"})
+public class EntityHistory {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "history_id")
+    private Long id;
+
+    private String entityType;
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeOperation operation;
+
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant validFrom;
+
+    // 그 시점의 상태 JSON (ChangeEvent.payload와 같은 모양, 연관관계는 id)
+    @Column(length = 2000)
+    private String payload;
+}
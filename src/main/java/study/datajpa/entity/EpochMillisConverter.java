@@ -0,0 +1,30 @@
+package study.datajpa.entity;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.time.Instant;
+
+/**
+ * Instant <-> UTC 기준 epoch 밀리초 (bigint 컬럼)
+ *  - 서버 기본 시간대의 LocalDateTime/TIMESTAMP로 저장하면 서머타임이 끝나는 한 시간은 같은 값이 두 번 나오고,
+ *    시작하는 한 시간은 JDBC Timestamp 변환에서 밀리며, 서버 시간대가 바뀌면 과거 값이 틀어짐
+ *  - epoch 값은 시간대와 무관하고 컬럼 값의 순서 = 시각의 순서
+ *  - JDBC/네이티브 쿼리로 직접 다룰 때도 toDatabaseColumn으로 같은 값을 만들 것
+ */
+@Converter
+public class EpochMillisConverter implements AttributeConverter<Instant, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Instant instant) {
+        return instant == null ? null : toDatabaseColumn(instant);
+    }
+
+    @Override
+    public Instant convertToEntityAttribute(Long epochMillis) {
+        return epochMillis == null ? null : Instant.ofEpochMilli(epochMillis);
+    }
+
+    public static long toDatabaseColumn(Instant instant) {
+        return instant.toEpochMilli();
+    }
+}
@@ -6,12 +6,14 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.id.UuidV7Generator;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
-import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * 매우 중요!!! JpaRepository의 save() 메서드
@@ -29,23 +31,33 @@ import java.time.LocalDateTime;
  *  - 따라서 이 경우 merge() 가 호출된다. merge() 는 우선 DB를 호출해서 값을 확인하고, DB에 값이 없으면 새로운 엔티티로 인지하므로 매우 비효율적이다.
  *  - 따라서 Persistable 를 사용해서 새로운 엔티티 확인 여부를 직접 구현하게는 효과적이다.
  *  - 참고로 등록시간(@CreatedDate)을 조합해서 사용하면 이 필드로 새로운 엔티티 여부를 편리하게 확인할 수 있다. (@CreatedDate에 값이 없으면 새로운 엔티티로 판단)
+ *
+ * 식별자는 시간순 UUID(v7)를 binary(16)으로 저장
+ *  - 랜덤 UUID 문자열(varchar)은 insert가 PK 인덱스 전체에 흩어져서 테이블이 커질수록 페이지 분할이 많아짐
+ *  - v7은 앞부분이 시각이라 항상 인덱스 끝에 추가되고, 문자열(36바이트) 대신 16바이트로 저장
+ *  - 생성 시점에 직접 할당하므로 여전히 Persistable.isNew()로 새 엔티티를 판단
  */
 @Entity
 @Getter
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Item implements Persistable<String> {
+public class Item implements Persistable<UUID> {
 
     @Id
-    private String id;
+    @Column(length = 16) // binary(16)
+    private UUID id;
 
     @CreatedDate
     private LocalDateTime createdDate;
 
-    public Item(String id) {
+    public Item(UUID id) {
         this.id = id;
     }
 
+    public static Item create() {
+        return new Item(UuidV7Generator.next());
+    }
+
     @Override
     public boolean isNew() {
         return createdDate == null;
@@ -1,6 +1,8 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -13,9 +15,18 @@ import javax.persistence.*;
         query="select m from Member m where m.username = :username"
 ) // NamedQuery는 실무에서는 안쓰는 기능이지만 소개
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team")) // 얘도 실무에서 안쓰지만 존재한다는 것 참고
+@Table(indexes = {
+        @Index(name = "idx_member_last_modified", columnList = "lastModifiedDate, member_id"), // 증분 동기화 (lastModifiedDate, id) 키셋 조회용
+        // 정렬 허용 키(SortConfig.memberSorts)마다 (컬럼, id) 인덱스 -> order by 컬럼, id 를 정렬 없이 인덱스 순서대로 읽음
+        @Index(name = "idx_member_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_age", columnList = "age, member_id")
+})
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "member_id_generator") // pooled-lo 시퀀스 또는 시간순 id (datajpa.id.strategy)
+    @GenericGenerator(name = "member_id_generator", strategy = "study.datajpa.id.ConfigurableIdGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "member_seq"))
     @Column(name = "member_id")
     private Long id;
 
@@ -1,6 +1,8 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -12,7 +14,10 @@ import java.util.List;
 @ToString(of = { "id", "name"})
 public class Team extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "team_id_generator") // pooled-lo 시퀀스 또는 시간순 id (datajpa.id.strategy)
+    @GenericGenerator(name = "team_id_generator", strategy = "study.datajpa.id.ConfigurableIdGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "team_seq"))
     @Column(name = "team_id")
     private Long id;
 
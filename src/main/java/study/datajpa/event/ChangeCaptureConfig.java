@@ -0,0 +1,29 @@
+package study.datajpa.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+// 스프링 빈으로 만든 하이버네이트 이벤트 리스너를 SessionFactory에 등록
+@Configuration
+@RequiredArgsConstructor
+public class ChangeCaptureConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeCaptureListener changeCaptureListener;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, changeCaptureListener);
+        registry.appendListeners(EventType.POST_UPDATE, changeCaptureListener);
+        registry.appendListeners(EventType.POST_DELETE, changeCaptureListener);
+    }
+}
@@ -0,0 +1,87 @@
+package study.datajpa.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Member, Team의 insert/update/delete를 flush 시점에 잡아서 아웃박스에 추가
+ *  - 변경감지(setter, changeTeam 등)로 나가는 update도 모두 포함
+ *  - 벌크 연산(JPQL update/delete)은 하이버네이트 이벤트가 발생하지 않으므로 여기서 잡히지 않음 -> ChangeEventOutbox 직접 호출
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeCaptureListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ChangeEventOutbox changeEventOutbox;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getEntity(), event.getId(), event.getState(), event.getPersister(), event.getSession(), ChangeOperation.INSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getEntity(), event.getId(), event.getState(), event.getPersister(), event.getSession(), ChangeOperation.UPDATE);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getEntity(), event.getId(), event.getDeletedState(), event.getPersister(), event.getSession(), ChangeOperation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(Object entity, Serializable id, Object[] state, EntityPersister persister,
+                         SessionImplementor session, ChangeOperation operation) {
+        if (!(entity instanceof Member) && !(entity instanceof Team)) {
+            return;
+        }
+        changeEventOutbox.append(session, entity.getClass().getSimpleName(), (Long) id, operation,
+                stateOf(state, persister, session));
+    }
+
+    // 컬렉션은 제외하고, 연관 엔티티는 id만 남김 (프록시 초기화 X)
+    private Map<String, Object> stateOf(Object[] state, EntityPersister persister, SessionImplementor session) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        for (int i = 0; i < names.length; i++) {
+            Object value = state == null ? null : state[i];
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            if (types[i].isEntityType() && value != null) {
+                value = idOf(value, session);
+            }
+            result.put(names[i], value);
+        }
+        return result;
+    }
+
+    private Object idOf(Object entity, SessionImplementor session) {
+        if (entity instanceof HibernateProxy) {
+            return ((HibernateProxy) entity).getHibernateLazyInitializer().getIdentifier();
+        }
+        return session.getEntityPersister(null, entity).getIdentifier(entity, session);
+    }
+}
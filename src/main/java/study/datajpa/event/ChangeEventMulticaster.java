@@ -0,0 +1,37 @@
+package study.datajpa.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스프링 기본 이벤트 멀티캐스터 대체 (빈 이름 applicationEventMulticaster)
+ *
+ * EntityChangedEvent는 이미 커밋된 트랜잭션의 afterCompletion 안에서 리스너를 차례로 호출함
+ *  -> 리스너 하나가 예외를 던지면 뒤의 리스너(검색 인덱스, 통계 저장소, 캐시 등)는 이벤트를 못 받아서 DB와 어긋나고,
+ *     예외는 이미 커밋된 트랜잭션의 오류로 보임
+ *  -> EntityChangedEvent만 리스너마다 예외를 잡아서 로그를 남기고 다음 리스너로 넘어감 (다른 이벤트는 기존대로 전파)
+ */
+@Slf4j
+@Component(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+public class ChangeEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        if (!(event instanceof PayloadApplicationEvent)
+                || !(((PayloadApplicationEvent<?>) event).getPayload() instanceof EntityChangedEvent)) {
+            super.invokeListener(listener, event);
+            return;
+        }
+        try {
+            super.invokeListener(listener, event);
+        } catch (RuntimeException e) {
+            log.error("EntityChangedEvent listener failed: listener={}, event={}",
+                    listener, ((PayloadApplicationEvent<?>) event).getPayload(), e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package study.datajpa.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.ChangeEvent;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.EpochMillisConverter;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 변경 이벤트를 현재 트랜잭션의 아웃박스에 추가
+ *  - 세션(트랜잭션)마다 이벤트를 모아뒀다가 커밋 직전(flush 이후)에 같은 커넥션으로 JDBC 배치 insert
+ *  - 롤백되면 엔티티 변경과 함께 아웃박스 insert도 같이 롤백됨
+ *  - 같은 배치로 이력 테이블(EntityHistory)에도 insert -> 시점 조회(MemberHistoryRepository)
+ *  - 커밋이 성공하면 같은 내용을 EntityChangedEvent로 애플리케이션 내부에도 발행
+ *    (리스너 하나가 실패해도 나머지 리스너는 계속 받음 -> ChangeEventMulticaster)
+ *
+ * 하이버네이트 이벤트 리스너(ChangeCaptureListener)가 자동으로 호출하고,
+ * 이벤트가 발생하지 않는 벌크 연산(JPQL update/delete)은 호출하는 쪽에서 직접 append 해줘야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeEventOutbox {
+
+    private static final String INSERT_SQL = "insert into change_event" +
+            " (aggregate_type, aggregate_id, operation, payload, created_at) values (?, ?, ?, ?, ?)";
+
+    // 같은 내용을 이력 테이블(EntityHistory)에도 같이 남김 (validFrom = insert 시각(커밋 직전), UTC epoch 밀리초)
+    private static final String HISTORY_INSERT_SQL = "insert into entity_history" +
+            " (entity_type, entity_id, operation, payload, valid_from) values (?, ?, ?, ?, ?)";
+
+    // in 절 하나에 넣는 id 수 (벌크 update도 같은 단위로 나눠서 실행)
+    public static final int IN_CLAUSE_BATCH = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<SharedSessionContractImplementor, PendingChanges> pending = new ConcurrentHashMap<>();
+
+    public void append(SessionImplementor session, String aggregateType, Long aggregateId,
+                       ChangeOperation operation, Map<String, Object> state) {
+        ChangeEvent event = new ChangeEvent(aggregateType, aggregateId, operation, toJson(state));
+        PendingChanges changes = pending.computeIfAbsent(session, s -> register(session));
+        changes.events.add(event);
+        changes.committedEvents.add(new EntityChangedEvent(aggregateType, aggregateId, operation, state));
+    }
+
+    public void append(EntityManager em, String aggregateType, Long aggregateId,
+                       ChangeOperation operation, Map<String, Object> state) {
+        append(em.unwrap(SessionImplementor.class), aggregateType, aggregateId, operation, state);
+    }
+
+    /**
+     * 벌크 update 이후 변경된 회원들의 현재 상태를 다시 조회해서 UPDATE 이벤트로 남김
+     */
+    public void appendMemberUpdates(EntityManager em, List<Long> memberIds) {
+        for (int from = 0; from < memberIds.size(); from += IN_CLAUSE_BATCH) {
+            List<Long> ids = memberIds.subList(from, Math.min(from + IN_CLAUSE_BATCH, memberIds.size()));
+            List<Object[]> rows = em.createQuery(
+                    "select m.id, m.username, m.age, t.id, m.lastModifiedDate" +
+                            " from Member m left join m.team t where m.id in :ids", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            for (Object[] row : rows) {
+                Map<String, Object> state = new LinkedHashMap<>();
+                state.put("username", row[1]);
+                state.put("age", row[2]);
+                state.put("team", row[3]);
+                state.put("lastModifiedDate", row[4]);
+                append(em, "Member", (Long) row[0], ChangeOperation.UPDATE, state);
+            }
+        }
+    }
+
+    /**
+     * StatelessSession용 (MemberBatchRepository)
+     *  - StatelessSession은 하이버네이트 이벤트도 ActionQueue도 없어서 위의 자동 기록이 동작하지 않음
+     *  - 호출하는 쪽이 자기 트랜잭션 안에서 writeDirectly로 아웃박스에 쓰고, 커밋한 뒤 publishCommitted 호출
+     */
+    public void writeDirectly(SharedSessionContract session, List<EntityChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<ChangeEvent> events = new ArrayList<>(changes.size());
+        for (EntityChangedEvent change : changes) {
+            events.add(new ChangeEvent(change.getAggregateType(), change.getAggregateId(), change.getOperation(),
+                    toJson(change.getState())));
+        }
+        session.doWork(connection -> insert(connection, events));
+    }
+
+    public void publishCommitted(List<EntityChangedEvent> changes) {
+        for (EntityChangedEvent change : changes) {
+            eventPublisher.publishEvent(change);
+        }
+    }
+
+    private static void insert(Connection connection, List<ChangeEvent> events) throws SQLException {
+        insert(connection, INSERT_SQL, events, (ps, event) -> ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt())));
+        // 이력은 flush 시각(createdAt)이 아니라 커밋 직전 시각으로, 한 트랜잭션의 변경은 모두 같은 시각
+        long validFrom = EpochMillisConverter.toDatabaseColumn(Instant.now());
+        insert(connection, HISTORY_INSERT_SQL, events, (ps, event) -> ps.setLong(5, validFrom));
+    }
+
+    @FunctionalInterface
+    private interface TimeBinder {
+        void bind(PreparedStatement ps, ChangeEvent event) throws SQLException;
+    }
+
+    // 두 테이블 모두 (타입, id, operation, payload, 시각) 순서
+    private static void insert(Connection connection, String sql, List<ChangeEvent> events,
+                               TimeBinder time) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (ChangeEvent event : events) {
+                ps.setString(1, event.getAggregateType());
+                if (event.getAggregateId() == null) {
+                    ps.setNull(2, Types.BIGINT);
+                } else {
+                    ps.setLong(2, event.getAggregateId());
+                }
+                ps.setString(3, event.getOperation().name());
+                ps.setString(4, event.getPayload());
+                time.bind(ps, event);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private PendingChanges register(SessionImplementor session) {
+        PendingChanges changes = new PendingChanges();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) changes);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) changes);
+        return changes;
+    }
+
+    private String toJson(Map<String, Object> state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("change event payload serialization failed", e);
+        }
+    }
+
+    private class PendingChanges implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final List<ChangeEvent> events = new ArrayList<>();
+        private final List<EntityChangedEvent> committedEvents = new ArrayList<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            if (events.isEmpty()) {
+                return;
+            }
+            session.doWork(connection -> insert(connection, events));
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            pending.remove(session);
+            if (success) {
+                for (EntityChangedEvent event : committedEvents) {
+                    eventPublisher.publishEvent(event);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.ChangeEvent;
+import study.datajpa.repository.ChangeEventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아웃박스에 쌓인 이벤트를 배치로 sink에 발행하고 발행 시각을 기록
+ *  - 발행 후 커밋 전에 죽으면 같은 이벤트가 다시 발행될 수 있음 (at-least-once, 소비자는 event id로 중복 제거)
+ *  - 발행된 이벤트도 바로 지우지 않음 (삭제 tombstone 등 다른 용도로도 사용)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datajpa.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeEventRelay {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventSink changeEventSink;
+
+    @Value("${datajpa.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${datajpa.outbox.relay.interval:1000}",
+            initialDelayString = "${datajpa.outbox.relay.initial-delay:1000}")
+    @Transactional
+    public int relay() {
+        List<ChangeEvent> events = changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        changeEventSink.publish(events);
+        LocalDateTime now = LocalDateTime.now();
+        for (ChangeEvent event : events) {
+            event.markPublished(now); // 변경감지로 update
+        }
+        return events.size();
+    }
+}
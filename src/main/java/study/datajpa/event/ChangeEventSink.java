@@ -0,0 +1,14 @@
+package study.datajpa.event;
+
+import study.datajpa.entity.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 발행할 대상 (메시지 브로커 등으로 교체 가능)
+ *  - 예외를 던지면 해당 배치는 발행되지 않은 것으로 남아서 다음 주기에 다시 시도됨 (at-least-once)
+ */
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEvent> events);
+}
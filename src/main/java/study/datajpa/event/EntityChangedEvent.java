@@ -0,0 +1,38 @@
+package study.datajpa.event;
+
+import lombok.Getter;
+import lombok.ToString;
+import study.datajpa.entity.ChangeOperation;
+
+import java.util.Map;
+
+/**
+ * 커밋된 Member/Team 변경을 애플리케이션 내부에 알리는 스프링 이벤트 (아웃박스와 같은 내용)
+ *  - 커밋이 성공한 뒤에만, 커밋한 스레드에서 동기적으로 발행된다. 롤백되면 발행되지 않음
+ *  - 트랜잭션이 끝나는 중에 호출되므로 리스너에서는 DB 작업 없이 메모리 상태(캐시, 인덱스 등)만 갱신할 것
+ *  - state: 변경 후 상태 (삭제면 삭제 직전 상태). 연관관계는 id
+ */
+@Getter
+@ToString
+public class EntityChangedEvent {
+
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final ChangeOperation operation;
+    private final Map<String, Object> state;
+
+    public EntityChangedEvent(String aggregateType, Long aggregateId, ChangeOperation operation, Map<String, Object> state) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.operation = operation;
+        this.state = state;
+    }
+
+    public boolean isMember() {
+        return "Member".equals(aggregateType);
+    }
+
+    public boolean isTeam() {
+        return "Team".equals(aggregateType);
+    }
+}
@@ -0,0 +1,54 @@
+package study.datajpa.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.ChangeEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 기본 sink (datajpa.outbox.sink=file 또는 미설정): 이벤트를 JSON 한 줄씩 파일에 이어 씀 (datajpa.outbox.file)
+@Component
+@ConditionalOnProperty(name = "datajpa.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileChangeEventSink implements ChangeEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileChangeEventSink(ObjectMapper objectMapper,
+                               @Value("${datajpa.outbox.file:change-events.jsonl}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> events) {
+        try {
+            List<String> lines = new ArrayList<>(events.size());
+            for (ChangeEvent event : events) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("id", event.getId());
+                line.put("aggregateType", event.getAggregateType());
+                line.put("aggregateId", event.getAggregateId());
+                line.put("operation", event.getOperation());
+                line.put("payload", objectMapper.readTree(event.getPayload()));
+                line.put("createdAt", event.getCreatedAt());
+                lines.add(objectMapper.writeValueAsString(line));
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
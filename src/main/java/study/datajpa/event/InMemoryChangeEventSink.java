@@ -0,0 +1,30 @@
+package study.datajpa.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.ChangeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// datajpa.outbox.sink=memory 일 때만: 발행된 이벤트를 메모리에 보관 (테스트 확인용, 비우지 않으면 계속 쌓이므로 운영에서 쓰지 말 것)
+@Component
+@ConditionalOnProperty(name = "datajpa.outbox.sink", havingValue = "memory")
+public class InMemoryChangeEventSink implements ChangeEventSink {
+
+    private final List<ChangeEvent> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        published.addAll(events);
+    }
+
+    public List<ChangeEvent> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
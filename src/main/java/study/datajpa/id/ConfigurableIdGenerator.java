@@ -0,0 +1,80 @@
+package study.datajpa.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import study.datajpa.shard.ShardContextHolder;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member, Team 식별자 생성기 (@GenericGenerator로 지정)
+ *
+ * datajpa.id.strategy
+ *  - sequence (기본): 엔티티별 시퀀스 + pooled-lo 옵티마이저
+ *      시퀀스를 한 번 호출하면 [값, 값 + allocation-size) 구간을 메모리에서 나눠 씀 -> insert마다 시퀀스를 부르지 않음
+ *      allocation-size는 datajpa.id.allocation-size (기본 50)
+ *  - time-ordered: TimeOrderedIdGenerator로 DB 왕복 없이 발급 (노드 번호는 datajpa.id.node)
+ *      시퀀스 테이블은 그대로 만들어지지만 사용하지 않음
+ *
+ * 설정값은 IdGeneratorConfig가 하이버네이트 프로퍼티로 넘겨줌
+ *
+ * 샤딩(datajpa.shard.count) 주의
+ *  - 옵티마이저가 메모리에 들고 있는 구간은 그 구간을 받아온 샤드의 값이므로 샤드마다 옵티마이저를 따로 둔다
+ */
+public class ConfigurableIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "datajpa.id.strategy";
+    public static final String ALLOCATION_SIZE = "datajpa.id.allocation-size";
+    public static final String NODE = "datajpa.id.node";
+
+    public static final String SEQUENCE = "sequence";
+    public static final String TIME_ORDERED = "time-ordered";
+
+    private TimeOrderedIdGenerator timeOrdered;
+    private int allocationSize;
+    private final Map<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String strategy = ConfigurationHelper.getString(STRATEGY, settings, SEQUENCE);
+        allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE, settings, 50);
+
+        if (TIME_ORDERED.equals(strategy)) {
+            timeOrdered = new TimeOrderedIdGenerator(ConfigurationHelper.getInt(NODE, settings, 0));
+        } else if (!SEQUENCE.equals(strategy)) {
+            throw new MappingException("지원하지 않는 " + STRATEGY + " 값: " + strategy);
+        }
+
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (timeOrdered != null) {
+            return timeOrdered.nextId();
+        }
+        Integer shard = ShardContextHolder.get();
+        if (shard == null) {
+            return super.generate(session, object);
+        }
+        Optimizer optimizer = shardOptimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                StandardOptimizerDescriptor.POOLED_LO.getExternalName(),
+                getIdentifierType().getReturnedClass(), allocationSize, -1));
+        return optimizer.generate(getDatabaseStructure().buildCallback(session));
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.id;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * ConfigurableIdGenerator는 하이버네이트가 직접 만드는 객체라 스프링 설정을 주입받을 수 없다.
+ * 그래서 datajpa.id.* 설정을 하이버네이트 프로퍼티로 복사해서 넘겨줌
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorPropertiesCustomizer(Environment environment) {
+        return properties -> {
+            copy(environment, properties, ConfigurableIdGenerator.STRATEGY);
+            copy(environment, properties, ConfigurableIdGenerator.ALLOCATION_SIZE);
+            copy(environment, properties, ConfigurableIdGenerator.NODE);
+        };
+    }
+
+    private void copy(Environment environment, Map<String, Object> properties, String key) {
+        String value = environment.getProperty(key);
+        if (value != null) {
+            properties.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package study.datajpa.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스노우플레이크 방식의 시간순 long 식별자 (DB 왕복 없이 애플리케이션에서 바로 발급)
+ *
+ *   | 1비트 부호(0) | 41비트 밀리초(EPOCH 기준) | 10비트 노드 번호 | 12비트 순번 |
+ *
+ *  - 항상 증가하는 값이라 PK 인덱스(B-tree)의 오른쪽 끝에만 추가됨 -> 페이지 분할이 적음
+ *  - 같은 밀리초에 4096개를 넘기면 다음 밀리초 값을 미리 당겨서 씀 (기다리지 않음)
+ *  - 시계가 뒤로 가도 마지막으로 발급한 시각 이후로만 발급하므로 값이 줄어들지 않음
+ *  - 락 없이 (시각, 순번)을 long 하나에 묶어서 CAS로 갱신
+ *  - 여러 인스턴스를 띄우면 노드 번호(datajpa.id.node)를 서로 다르게 줘야 겹치지 않음
+ */
+public class TimeOrderedIdGenerator {
+
+    public static final long EPOCH = 1577836800000L; // 2020-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final AtomicLong last = new AtomicLong(); // (밀리초 << SEQUENCE_BITS) | 순번
+
+    public TimeOrderedIdGenerator(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node는 0 ~ " + MAX_NODE + " 사이여야 합니다: " + node);
+        }
+        this.node = node;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            // 시각이 그대로거나 뒤로 갔으면 이전 값 + 1 (순번이 넘치면 자연스럽게 다음 밀리초로 올라감)
+            long next = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+}
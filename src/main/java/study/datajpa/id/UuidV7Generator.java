@@ -0,0 +1,44 @@
+package study.datajpa.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID 버전 7 (RFC 9562) - 시간순 UUID
+ *
+ *   | 48비트 유닉스 밀리초 | 4비트 버전(7) | 12비트 순번 | 2비트 variant | 62비트 랜덤 |
+ *
+ *  - 앞쪽이 시각이라 바이트 순서대로 정렬하면 생성 순서가 됨 -> 랜덤 UUID(v4)처럼 PK 인덱스 여기저기에 끼워넣지 않고 끝에만 추가
+ *  - 같은 밀리초 안에서는 12비트 순번을 올려서 한 JVM 안에서는 항상 증가 (넘치면 다음 밀리초 값을 당겨씀)
+ *  - 락 없이 (밀리초, 순번)을 long 하나에 묶어서 CAS로 갱신 (TimeOrderedIdGenerator와 같은 방식)
+ */
+public final class UuidV7Generator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final AtomicLong LAST = new AtomicLong(); // (밀리초 << COUNTER_BITS) | 순번
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long next;
+        while (true) {
+            long previous = LAST.get();
+            next = now > previous ? now : previous + 1;
+            if (LAST.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        long millis = next >>> COUNTER_BITS;
+        long mostSigBits = (millis << 16) | (0x7L << 12) | (next & COUNTER_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,263 @@
+package study.datajpa.index;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.Team;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberSearchRow;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * username / 팀 이름 부분 문자열 검색용 역색인 (like '%foo%' 대체)
+ *  - 소문자로 바꾼 문자열을 3글자씩(trigram) 잘라서 trigram -> id 목록으로 보관
+ *  - 검색어의 trigram 목록을 모두 가진 후보만 골라낸 뒤 실제로 포함하는지 다시 확인
+ *  - 검색어는 3글자(MIN_QUERY_LENGTH) 이상만: 더 짧으면 trigram으로 후보를 못 줄여서 전체를 훑어야 하므로 빈 결과 (컨트롤러는 400)
+ *  - 결과는 limit 크기의 힙으로 상위만 남김 -> 일치한 회원이 많아도 전체를 정렬하지 않음
+ *  - 팀 이름은 팀 단위로 색인하고 검색할 때 소속 회원으로 펼침 -> 팀 이름이 바뀌어도 팀 하나만 다시 색인
+ *  - 시작 시 한 번 적재하고, 이후엔 커밋된 EntityChangedEvent로 갱신 (UsernameIndex와 같은 방식)
+ *
+ * 순위: username 접두사 일치 > username 포함 > 팀 이름만 일치, 같은 점수면 짧은 username, id 순
+ */
+@Component
+public class MemberSearchIndex {
+
+    private static final int GRAM = 3;
+    public static final int MIN_QUERY_LENGTH = GRAM;
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>(); // 소문자
+    private final Map<Long, Long> teamOfMember = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> membersOfTeam = new ConcurrentHashMap<>();
+    private final Map<Long, String> teamNames = new ConcurrentHashMap<>(); // 소문자
+    private final Map<String, Set<Long>> memberGrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> teamGrams = new ConcurrentHashMap<>();
+
+    private final Set<Long> membersChangedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final Set<Long> teamsChangedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public MemberSearchIndex(MemberRepository memberRepository, TeamRepository teamRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (Team team : teamRepository.findAll()) {
+                if (!teamsChangedWhileLoading.contains(team.getId())) {
+                    putTeam(team.getId(), team.getName());
+                }
+            }
+            try (Stream<MemberSearchRow> rows = memberRepository.streamSearchRows()) {
+                rows.filter(row -> !membersChangedWhileLoading.contains(row.getId()))
+                        .forEach(row -> putMember(row.getId(), row.getUsername(), row.getTeamId()));
+            }
+        });
+        membersChangedWhileLoading.clear();
+        teamsChangedWhileLoading.clear();
+        ready = true;
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        Long id = event.getAggregateId();
+        if (event.isMember()) {
+            if (!ready) {
+                membersChangedWhileLoading.add(id);
+            }
+            if (event.getOperation() == ChangeOperation.DELETE) {
+                removeMember(id);
+            } else {
+                putMember(id, (String) event.getState().get("username"), toLong(event.getState().get("team")));
+            }
+        } else if (event.isTeam()) {
+            if (!ready) {
+                teamsChangedWhileLoading.add(id);
+            }
+            if (event.getOperation() == ChangeOperation.DELETE) {
+                removeTeam(id);
+            } else {
+                putTeam(id, (String) event.getState().get("name"));
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 순위대로 회원 id. 검색어가 MIN_QUERY_LENGTH 미만이면 빈 결과
+    public List<Long> search(String text, int limit) {
+        String query = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (query.length() < MIN_QUERY_LENGTH || limit < 1) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Long memberId : candidates(query, memberGrams)) {
+            String username = usernames.get(memberId);
+            if (username != null && username.contains(query)) {
+                scores.merge(memberId, username.startsWith(query) ? 3 : 2, Math::max);
+            }
+        }
+        for (Long teamId : candidates(query, teamGrams)) {
+            String name = teamNames.get(teamId);
+            if (name != null && name.contains(query)) {
+                for (Long memberId : membersOfTeam.getOrDefault(teamId, Collections.emptySet())) {
+                    scores.merge(memberId, 1, Math::max);
+                }
+            }
+        }
+
+        // 상위 limit개만 힙에 유지 (head = 지금까지 중 가장 순위가 낮은 것)
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, Hit.RANK.reversed());
+        scores.forEach((memberId, score) -> {
+            top.add(new Hit(memberId, score, usernames.getOrDefault(memberId, "").length()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.RANK);
+        List<Long> ranked = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ranked.add(hit.memberId);
+        }
+        return ranked;
+    }
+
+    public int size() {
+        return usernames.size();
+    }
+
+    // 검색어 trigram을 모두 가진 id (가장 짧은 목록부터 교집합). 검색어는 GRAM 글자 이상
+    private Set<Long> candidates(String query, Map<String, Set<Long>> grams) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : gramsOf(query)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private synchronized void putMember(Long id, String username, Long teamId) {
+        removeMember(id);
+        if (username != null) {
+            String lower = username.toLowerCase(Locale.ROOT);
+            usernames.put(id, lower);
+            addGrams(memberGrams, lower, id);
+        }
+        if (teamId != null) {
+            teamOfMember.put(id, teamId);
+            membersOfTeam.computeIfAbsent(teamId, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private synchronized void removeMember(Long id) {
+        String previous = usernames.remove(id);
+        if (previous != null) {
+            removeGrams(memberGrams, previous, id);
+        }
+        Long previousTeam = teamOfMember.remove(id);
+        if (previousTeam != null) {
+            membersOfTeam.computeIfPresent(previousTeam, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private synchronized void putTeam(Long id, String name) {
+        removeTeam(id);
+        if (name != null) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            teamNames.put(id, lower);
+            addGrams(teamGrams, lower, id);
+        }
+    }
+
+    private synchronized void removeTeam(Long id) {
+        String previous = teamNames.remove(id);
+        if (previous != null) {
+            removeGrams(teamGrams, previous, id);
+        }
+    }
+
+    private static void addGrams(Map<String, Set<Long>> grams, String text, Long id) {
+        for (String gram : gramsOf(text)) {
+            grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void removeGrams(Map<String, Set<Long>> grams, String text, Long id) {
+        for (String gram : gramsOf(text)) {
+            grams.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // 순위 계산용 스냅샷 (비교 도중에 username이 바뀌어도 힙 순서가 깨지지 않게)
+    private static final class Hit {
+
+        // 점수 높은 순 > 짧은 username > id
+        private static final Comparator<Hit> RANK = Comparator.<Hit>comparingInt(hit -> -hit.score)
+                .thenComparingInt(hit -> hit.length)
+                .thenComparingLong(hit -> hit.memberId);
+
+        private final long memberId;
+        private final int score;
+        private final int length;
+
+        private Hit(long memberId, int score, int length) {
+            this.memberId = memberId;
+            this.score = score;
+            this.length = length;
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
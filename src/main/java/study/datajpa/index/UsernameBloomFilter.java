@@ -0,0 +1,109 @@
+package study.datajpa.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * username 블룸 필터
+ *  - mightContain()이 false면 "절대 없음" -> DB 조회 생략 가능
+ *  - true면 "있을 수도 있음" (오탐 가능, 비율은 expectedFpp로 지정)
+ *  - 추가만 가능하고 삭제는 불가 -> 삭제를 반영하려면 새로 만들어서 교체(rebuild)
+ *
+ * 크기 계산: 비트 수 m = -n * ln(p) / (ln 2)^2, 해시 함수 수 k = m / n * ln 2
+ * 해시: 64비트 해시 하나를 두 개로 나눠서 h1 + i * h2 로 k개를 만듦 (Kirsch-Mitzenmacher)
+ */
+public class UsernameBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int numHashes;
+    private final AtomicLong insertions = new AtomicLong();
+
+    public UsernameBloomFilter(long expectedInsertions, double expectedFpp) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(expectedFpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String username) {
+        long hash = hash64(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long index = indexOf(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String username) {
+        long hash = hash64(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long index = indexOf(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 현재 채워진 비트 비율로 추정한 오탐률 = (채워진 비율)^k
+    public double estimatedFpp() {
+        long setBits = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            setBits += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) setBits / bitSize, numHashes);
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    private long indexOf(int combinedHash) {
+        if (combinedHash < 0) {
+            combinedHash = ~combinedHash;
+        }
+        return combinedHash % bitSize;
+    }
+
+    // FNV-1a 64 + 마지막 섞기(splitmix64) - String.hashCode()는 32비트라 큰 필터에서 충돌이 많음
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
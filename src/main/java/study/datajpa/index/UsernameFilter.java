@@ -0,0 +1,150 @@
+package study.datajpa.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberUsername;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 없는 username 조회를 DB까지 보내지 않기 위한 블룸 필터 (datajpa.username-filter.enabled=true 일 때만 사용)
+ *  - 필터가 "없음"이라고 하면 확실히 없는 것 -> 조회 생략
+ *  - 회원 insert/update(username 변경)는 커밋된 EntityChangedEvent로 바로 추가
+ *  - 삭제는 블룸 필터에서 뺄 수 없으므로 주기적으로 새로 만들어서 통째로 교체
+ *  - 재구축 도중 들어온 username은 새 필터에도 같이 넣어서 교체 순간에 빠지는 일이 없게 함
+ *
+ * 오탐률은 "없는 username 중에 필터를 통과해버린 비율" = 오탐 / (필터가 걸러낸 수 + 오탐)으로 실측해서 stats()로 보여줌
+ */
+@Component
+@ConditionalOnProperty(name = "datajpa.username-filter.enabled", havingValue = "true")
+public class UsernameFilter {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double expectedFpp;
+
+    private volatile UsernameBloomFilter current;
+    private volatile UsernameBloomFilter building;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public UsernameFilter(MemberRepository memberRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${datajpa.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${datajpa.username-filter.fpp:0.01}") double expectedFpp) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.expectedFpp = expectedFpp;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // 삭제된 username을 털어내기 위해 주기적으로 재구축 (기본 10분)
+    @Scheduled(fixedDelayString = "${datajpa.username-filter.rebuild-interval:600000}",
+            initialDelayString = "${datajpa.username-filter.rebuild-interval:600000}")
+    public synchronized void rebuild() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(expectedInsertions, expectedFpp);
+        building = filter;
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberUsername> rows = memberRepository.streamUsernames()) {
+                rows.forEach(row -> {
+                    if (row.getUsername() != null) {
+                        filter.put(row.getUsername());
+                    }
+                });
+            }
+        });
+        current = filter;
+        building = null;
+        // 새 필터 기준으로 다시 측정
+        lookups.set(0);
+        skipped.set(0);
+        falsePositives.set(0);
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        if (!event.isMember() || event.getOperation() == ChangeOperation.DELETE) {
+            return;
+        }
+        String username = (String) event.getState().get("username");
+        if (username == null) {
+            return;
+        }
+        // rebuild()가 current = 새 필터 -> building = null 순서로 바꾸므로 building을 먼저 읽어야 함
+        // (current를 먼저 읽으면 그 사이에 교체가 끝나서 버려질 옛 필터에만 넣고 새 필터에는 빠질 수 있음)
+        // building이 null이면 재구축 전(스냅샷이 이 커밋을 포함) 이거나 교체 후(current가 이미 새 필터)
+        UsernameBloomFilter next = building;
+        if (next != null) {
+            next.put(username);
+        }
+        UsernameBloomFilter filter = current;
+        if (filter != null) {
+            filter.put(username);
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    // false면 DB에 확실히 없음 (null은 판단하지 않고 DB에 맡김)
+    public boolean mightExist(String username) {
+        if (username == null) {
+            return true;
+        }
+        lookups.incrementAndGet();
+        if (current.mightContain(username)) {
+            return true;
+        }
+        skipped.incrementAndGet();
+        return false;
+    }
+
+    // 필터를 통과했는데 DB에 없었던 경우 호출
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        UsernameBloomFilter filter = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (filter == null) {
+            stats.put("ready", false);
+            return stats;
+        }
+        long misses = skipped.get() + falsePositives.get();
+        stats.put("ready", true);
+        stats.put("bits", filter.bitSize());
+        stats.put("hashes", filter.numHashes());
+        stats.put("memoryBytes", filter.memoryBytes());
+        stats.put("insertions", filter.insertions());
+        stats.put("expectedFpp", expectedFpp);
+        stats.put("estimatedFpp", filter.estimatedFpp());
+        stats.put("lookups", lookups.get());
+        stats.put("skipped", skipped.get());
+        stats.put("falsePositives", falsePositives.get());
+        stats.put("observedFpp", misses == 0 ? 0.0 : (double) falsePositives.get() / misses);
+        return stats;
+    }
+}
@@ -0,0 +1,170 @@
+package study.datajpa.index;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberUsername;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * 인메모리 username 인덱스 (datajpa.username-index.enabled=true 일 때만 사용)
+ *  - username -> 회원 id 배열(long[])을 정렬된 맵에 보관 -> 존재 여부, id 조회, 접두사 검색을 DB 없이 처리
+ *  - username은 유니크가 아니라서 같은 이름에 id가 여러 개일 수 있음
+ *  - 애플리케이션 시작 시 streamUsernames()로 한 번 적재하고, 이후엔 커밋된 EntityChangedEvent로 갱신
+ *  - 적재가 끝나기 전(isReady() == false)에는 호출하는 쪽에서 DB로 조회해야 함
+ *  - username 컬럼은 null일 수 있음: 이름 인덱스에는 넣지 않고 usernameById에만 빈 Optional로 남김 (null 조회는 항상 없음)
+ */
+@Component
+@ConditionalOnProperty(name = "datajpa.username-index.enabled", havingValue = "true")
+public class UsernameIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentSkipListMap<String, long[]> idsByUsername = new ConcurrentSkipListMap<>();
+    private final Map<Long, Optional<String>> usernameById = new ConcurrentHashMap<>(); // update/delete 때 이전 username을 찾기 위함 (ConcurrentHashMap은 null 값 불가)
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public UsernameIndex(MemberRepository memberRepository, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberUsername> rows = memberRepository.streamUsernames()) {
+                // 적재 도중에 이벤트로 먼저 들어온(더 최신) 값은 덮어쓰지 않음
+                rows.filter(row -> !removedWhileLoading.contains(row.getId()))
+                        .forEach(row -> {
+                            if (usernameById.putIfAbsent(row.getId(), Optional.ofNullable(row.getUsername())) == null) {
+                                add(row.getUsername(), row.getId());
+                            }
+                        });
+            }
+        });
+        removedWhileLoading.clear();
+        ready = true;
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        if (!event.isMember()) {
+            return;
+        }
+        Long id = event.getAggregateId();
+        String previous;
+        switch (event.getOperation()) {
+            case DELETE:
+                previous = nameOf(usernameById.remove(id));
+                if (previous != null) {
+                    remove(previous, id);
+                }
+                if (!ready) {
+                    removedWhileLoading.add(id);
+                }
+                break;
+            default:
+                String username = (String) event.getState().get("username");
+                previous = nameOf(usernameById.put(id, Optional.ofNullable(username)));
+                if (!Objects.equals(previous, username)) {
+                    if (previous != null) {
+                        remove(previous, id);
+                    }
+                    add(username, id);
+                }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean exists(String username) {
+        return username != null && idsByUsername.containsKey(username);
+    }
+
+    public long[] findIds(String username) {
+        if (username == null) {
+            return EMPTY;
+        }
+        long[] ids = idsByUsername.get(username);
+        return ids == null ? EMPTY : ids.clone();
+    }
+
+    // prefix로 시작하는 username을 사전순으로 limit 개까지
+    public List<String> findUsernamesByPrefix(String prefix, int limit) {
+        if (prefix == null || limit < 1) {
+            return new ArrayList<>();
+        }
+        ConcurrentNavigableMap<String, long[]> range = idsByUsername.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        List<String> result = new ArrayList<>(Math.min(limit, 64));
+        for (String username : range.keySet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(username);
+        }
+        return result;
+    }
+
+    public int size() {
+        return usernameById.size();
+    }
+
+    private static String nameOf(Optional<String> username) {
+        return username == null ? null : username.orElse(null);
+    }
+
+    private void add(String username, long id) {
+        if (username == null) {
+            return;
+        }
+        idsByUsername.compute(username, (key, ids) -> {
+            if (ids == null) {
+                return new long[]{id};
+            }
+            for (long existing : ids) {
+                if (existing == id) {
+                    return ids;
+                }
+            }
+            long[] grown = Arrays.copyOf(ids, ids.length + 1);
+            grown[ids.length] = id;
+            return grown;
+        });
+    }
+
+    private void remove(String username, long id) {
+        idsByUsername.computeIfPresent(username, (key, ids) -> {
+            long[] shrunk = new long[ids.length];
+            int size = 0;
+            for (long existing : ids) {
+                if (existing != id) {
+                    shrunk[size++] = existing;
+                }
+            }
+            return size == 0 ? null : Arrays.copyOf(shrunk, size);
+        });
+    }
+}
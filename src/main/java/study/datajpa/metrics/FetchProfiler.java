@@ -0,0 +1,178 @@
+package study.datajpa.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.Attribute;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FetchPlan.profiled() 로 호출한 조회가 "실제로 어떤 연관관계를 썼는지" 호출 위치별로 기록하고 페치 전략을 추천
+ *
+ * 동작
+ *  - 처음 min-samples 번은 전부 지연로딩으로 조회하고, 트랜잭션이 끝나기 직전에 결과 엔티티의 연관관계가 초기화됐는지 확인
+ *    (초기화됐다 = 호출한 쪽이 접근했다)
+ *  - 그 뒤로는 접근 비율이 threshold 이상인 연관관계만 EntityGraph로 같이 조회 (자동 적용)
+ *  - 사용 패턴이 바뀔 수 있으므로 resample-every 번에 한 번은 다시 지연로딩으로 측정
+ *  - 트랜잭션 밖에서 호출하면 접근 여부를 확인할 시점이 없어서 기록하지 않음
+ *
+ * 설정: datajpa.fetch-profiler.min-samples(20), threshold(0.5), resample-every(20)
+ */
+@Component
+public class FetchProfiler {
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int minSamples;
+    private final double threshold;
+    private final int resampleEvery;
+
+    private final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    public FetchProfiler(EntityManagerFactory entityManagerFactory,
+                         @Value("${datajpa.fetch-profiler.min-samples:20}") int minSamples,
+                         @Value("${datajpa.fetch-profiler.threshold:0.5}") double threshold,
+                         @Value("${datajpa.fetch-profiler.resample-every:20}") int resampleEvery) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.minSamples = minSamples;
+        this.threshold = threshold;
+        this.resampleEvery = resampleEvery;
+    }
+
+    public static class Decision {
+        private final String callSite;
+        private final Set<String> attributePaths;
+        private final boolean record;
+
+        private Decision(String callSite, Set<String> attributePaths, boolean record) {
+            this.callSite = callSite;
+            this.attributePaths = attributePaths;
+            this.record = record;
+        }
+
+        public Set<String> getAttributePaths() {
+            return attributePaths;
+        }
+    }
+
+    // 이번 호출에 쓸 연관관계 (측정 차례면 빈 목록 = 지연로딩)
+    public Decision decide(String repositoryMethod, Class<?> entityType) {
+        String callSite = repositoryMethod + " <- " + callerOf();
+        Profile profile = profiles.computeIfAbsent(callSite, key -> new Profile(entityType));
+        long call = profile.calls.incrementAndGet();
+        if (profile.samples.get() < minSamples || call % resampleEvery == 0) {
+            return new Decision(callSite, Collections.emptySet(), true);
+        }
+        return new Decision(callSite, profile.recommended(threshold), false);
+    }
+
+    // 측정 차례였으면 트랜잭션 종료 직전에 연관관계 초기화 여부 확인
+    public void afterQuery(Decision decision, List<?> results) {
+        if (!decision.record || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Profile profile = profiles.get(decision.callSite);
+        Set<String> associations = associationsOf(profile.entityType);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                Set<String> accessed = new LinkedHashSet<>();
+                for (Object entity : results) {
+                    for (String association : associations) {
+                        if (!accessed.contains(association) && persistenceUnitUtil.isLoaded(entity, association)) {
+                            accessed.add(association);
+                        }
+                    }
+                }
+                profile.record(associations, accessed);
+            }
+        });
+    }
+
+    // 호출 위치별 접근 비율과 추천 페치 전략
+    public Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        profiles.forEach((callSite, profile) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", profile.calls.get());
+            stats.put("samples", profile.samples.get());
+            stats.put("accessRatio", profile.accessRatios());
+            stats.put("recommended", profile.recommended(threshold));
+            report.put(callSite, stats);
+        });
+        return report;
+    }
+
+    private Set<String> associationsOf(Class<?> entityType) {
+        Set<String> associations = new LinkedHashSet<>();
+        for (Attribute<?, ?> attribute : entityManagerFactory.getMetamodel().entity(entityType).getAttributes()) {
+            if (attribute.isAssociation()) {
+                associations.add(attribute.getName());
+            }
+        }
+        return associations;
+    }
+
+    // 리포지토리/프록시/스프링 프레임을 건너뛴 첫 번째 애플리케이션 코드 위치
+    private static String callerOf() {
+        Optional<StackWalker.StackFrame> frame = StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("study.datajpa."))
+                .filter(f -> !f.getClassName().contains("$$"))
+                .filter(f -> !f.getClassName().equals(FetchProfiler.class.getName()))
+                .filter(f -> !f.getClassName().endsWith("RepositoryImpl"))
+                .findFirst());
+        return frame.map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber()).orElse("unknown");
+    }
+
+    private static class Profile {
+        private final Class<?> entityType;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong samples = new AtomicLong();
+        private final Map<String, AtomicLong> accessed = new ConcurrentHashMap<>();
+
+        private Profile(Class<?> entityType) {
+            this.entityType = entityType;
+        }
+
+        private void record(Set<String> associations, Set<String> accessedNow) {
+            for (String association : associations) {
+                AtomicLong count = accessed.computeIfAbsent(association, key -> new AtomicLong());
+                if (accessedNow.contains(association)) {
+                    count.incrementAndGet();
+                }
+            }
+            samples.incrementAndGet();
+        }
+
+        private Map<String, Double> accessRatios() {
+            Map<String, Double> ratios = new TreeMap<>();
+            long total = samples.get();
+            accessed.forEach((association, count) -> ratios.put(association, total == 0 ? 0.0 : (double) count.get() / total));
+            return ratios;
+        }
+
+        private Set<String> recommended(double threshold) {
+            Set<String> result = new LinkedHashSet<>();
+            accessRatios().forEach((association, ratio) -> {
+                if (ratio >= threshold) {
+                    result.add(association);
+                }
+            });
+            return result;
+        }
+    }
+}
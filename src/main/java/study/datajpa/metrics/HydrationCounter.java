@@ -0,0 +1,23 @@
+package study.datajpa.metrics;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * 현재 스레드에서 하이버네이트가 만든(hydrate) 엔티티 수를 셈
+ *  - 리포지토리 메서드 호출 전/후 값의 차이 = 그 호출이 만든 엔티티 수 (RepositoryMetricsInterceptor)
+ *  - 지연로딩으로 나중에 초기화되는 엔티티는 그 시점의 호출(또는 호출 밖)에 잡힘
+ */
+public class HydrationCounter implements PostLoadEventListener {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        COUNT.get()[0]++;
+    }
+}
@@ -0,0 +1,62 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+
+/**
+ * 리포지토리 메서드 측정 설정
+ *  - 모든 스프링 데이터 리포지토리 프록시에 RepositoryMetricsInterceptor를 추가
+ *  - 엔티티 생성 수를 세는 HydrationCounter를 하이버네이트 POST_LOAD 리스너로 등록
+ *
+ * BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static으로 등록하고, 의존하는 빈은 ObjectProvider로 늦게 꺼냄
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RepositoryMetricsConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Bean
+    public static RepositoryMetricsInterceptor repositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                            Environment environment) {
+        Duration slowThreshold = environment.getProperty("datajpa.repository.slow-threshold", Duration.class, Duration.ofMillis(200));
+        return new RepositoryMetricsInterceptor(meterRegistry, slowThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<RepositoryMetricsInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(interceptor.getObject()
+                                            .forRepository(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void registerHydrationCounter() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, new HydrationCounter());
+    }
+}
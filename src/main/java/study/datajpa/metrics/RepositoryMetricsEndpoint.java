@@ -0,0 +1,115 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import study.datajpa.cache.MemberPageCache;
+import study.datajpa.cache.MemberViewCache;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /actuator/repometrics (management.server.port, 로컬에서만 접근)
+ *  - methods: 리포지토리 메서드별 호출 수, 평균/최대/p50/p99 지연(ms), 평균 행 수, 평균 엔티티 생성 수
+ *  - slowQueries: 최근 느린 호출 (바인드 파라미터 포함)
+ *  - hibernate: 하이버네이트 Statistics (hibernate.generate_statistics=true 일 때)
+ *  - caches: 애플리케이션 캐시 적중률
+ *  - fetchProfiles: FetchPlan.profiled() 호출 위치별 연관관계 접근 비율과 추천 페치 전략
+ */
+@Component
+@Endpoint(id = "repometrics")
+@RequiredArgsConstructor
+public class RepositoryMetricsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final RepositoryMetricsInterceptor repositoryMetricsInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MemberViewCache memberViewCache;
+    private final MemberPageCache memberPageCache;
+    private final FetchProfiler fetchProfiler;
+
+    @ReadOperation
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("methods", methods());
+        result.put("slowQueries", repositoryMetricsInterceptor.getSlowQueries());
+        result.put("hibernate", hibernate());
+        result.put("caches", caches());
+        result.put("fetchProfiles", fetchProfiler.report());
+        return result;
+    }
+
+    private Map<String, Map<String, Object>> methods() {
+        Map<String, Map<String, Object>> methods = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(RepositoryMetricsInterceptor.INVOCATIONS).timers()) {
+            String key = keyOf(timer.getId().getTag("repository"), timer.getId().getTag("method"));
+            String outcome = timer.getId().getTag("outcome");
+            Map<String, Object> stats = methods.computeIfAbsent(key, k -> new LinkedHashMap<>());
+            if (!"success".equals(outcome)) {
+                stats.merge("errors", timer.count(), (a, b) -> (long) a + (long) b);
+                continue;
+            }
+            stats.put("count", timer.count());
+            stats.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            stats.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                stats.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        for (DistributionSummary rows : meterRegistry.find(RepositoryMetricsInterceptor.ROWS).summaries()) {
+            methods.computeIfAbsent(keyOf(rows.getId().getTag("repository"), rows.getId().getTag("method")), k -> new LinkedHashMap<>())
+                    .put("rowsMean", rows.mean());
+        }
+        for (DistributionSummary entities : meterRegistry.find(RepositoryMetricsInterceptor.ENTITIES).summaries()) {
+            methods.computeIfAbsent(keyOf(entities.getId().getTag("repository"), entities.getId().getTag("method")), k -> new LinkedHashMap<>())
+                    .put("entitiesMean", entities.mean());
+        }
+        return methods;
+    }
+
+    private Map<String, Object> hibernate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return hibernate;
+        }
+        hibernate.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        hibernate.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        hibernate.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        hibernate.put("entityLoadCount", statistics.getEntityLoadCount());
+        hibernate.put("entityFetchCount", statistics.getEntityFetchCount());
+        hibernate.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        hibernate.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        hibernate.put("secondLevelCacheHitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        hibernate.put("queryCacheHitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        return hibernate;
+    }
+
+    private Map<String, Object> caches() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("memberView", ratio(memberViewCache.getCache().hitCount(), memberViewCache.getCache().missCount()));
+        caches.put("memberPage", ratio(memberPageCache.getCache().hitCount() + memberPageCache.getCache().staleHitCount(),
+                memberPageCache.getCache().missCount()));
+        return caches;
+    }
+
+    private static String keyOf(String repository, String method) {
+        return repository + "." + method;
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+}
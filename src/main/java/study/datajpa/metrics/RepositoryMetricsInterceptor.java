@@ -0,0 +1,145 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * 스프링 데이터 리포지토리 메서드 호출마다 측정 (RepositoryMetricsConfig가 forRepository()를 리포지토리 프록시에 끼워넣음)
+ *  - datajpa.repository.invocations (Timer): 호출 수, 지연 시간 p50/p99. 태그 repository, method, outcome
+ *  - datajpa.repository.rows (DistributionSummary): 반환한 행 수 (컬렉션/Page/Slice/Optional/단건)
+ *  - datajpa.repository.entities (DistributionSummary): 호출 동안 하이버네이트가 만든 엔티티 수 (HydrationCounter)
+ *  - datajpa.repository.slow-threshold(기본 200ms)를 넘으면 바인드 파라미터와 함께 로그 + 최근 100건 보관
+ */
+@Slf4j
+public class RepositoryMetricsInterceptor {
+
+    public static final String INVOCATIONS = "datajpa.repository.invocations";
+    public static final String ROWS = "datajpa.repository.rows";
+    public static final String ENTITIES = "datajpa.repository.entities";
+
+    private static final int SLOW_QUERY_HISTORY = 100;
+    private static final int MAX_PARAMETER_LENGTH = 500;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowThresholdNanos;
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    // findById처럼 상위 인터페이스(CrudRepository)에 선언된 메서드도 실제 리포지토리 이름으로 묶기 위해 리포지토리마다 따로 만듦
+    public MethodInterceptor forRepository(Class<?> repositoryInterface) {
+        String repository = repositoryInterface.getSimpleName();
+        return invocation -> invoke(repository, invocation);
+    }
+
+    private Object invoke(String repository, MethodInvocation invocation) throws Throwable {
+        long hydratedBefore = HydrationCounter.current();
+        long start = System.nanoTime();
+        String outcome = "success";
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            record(repository, invocation, elapsed, outcome, result, HydrationCounter.current() - hydratedBefore);
+        }
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    private void record(String repository, MethodInvocation invocation, long elapsedNanos, String outcome, Object result, long hydrated) {
+        String method = invocation.getMethod().getName();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder(INVOCATIONS)
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            long rows = invocation.getMethod().getReturnType() == void.class ? -1 : rowsOf(result);
+            if (rows >= 0) {
+                DistributionSummary.builder(ROWS)
+                        .tag("repository", repository)
+                        .tag("method", method)
+                        .register(registry)
+                        .record(rows);
+            }
+            DistributionSummary.builder(ENTITIES)
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry)
+                    .record(hydrated);
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            String parameters = parametersOf(invocation.getArguments());
+            log.warn("slow repository call {}.{} {}ms parameters={}", repository, method, elapsedMs, parameters);
+            synchronized (slowQueries) {
+                if (slowQueries.size() >= SLOW_QUERY_HISTORY) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(new SlowQuery(LocalDateTime.now(), repository + "." + method, elapsedMs, parameters));
+            }
+        }
+    }
+
+    // 행 수를 알 수 없는 반환 타입(Stream, count/exists 결과)은 -1
+    private static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof BaseStream) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private static String parametersOf(Object[] arguments) {
+        String parameters = Arrays.deepToString(arguments);
+        return parameters.length() > MAX_PARAMETER_LENGTH
+                ? parameters.substring(0, MAX_PARAMETER_LENGTH) + "..."
+                : parameters;
+    }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.metrics;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class SlowQuery {
+
+    private final LocalDateTime at;
+    private final String method;
+    private final long elapsedMs;
+    private final String parameters;
+
+    public SlowQuery(LocalDateTime at, String method, long elapsedMs, String parameters) {
+        this.at = at;
+        this.method = method;
+        this.elapsedMs = elapsedMs;
+        this.parameters = parameters;
+    }
+}
@@ -0,0 +1,28 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.datajpa.entity.ChangeEvent;
+import study.datajpa.entity.ChangeOperation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // 아직 발행되지 않은 이벤트를 쌓인 순서대로 (Pageable로 배치 크기 지정)
+    List<ChangeEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    // 증분 동기화의 삭제 tombstone (이벤트 id가 워터마크, until은 MemberRepository.findChangesSince와 같은 의미)
+    @Query("select e from ChangeEvent e" +
+            " where e.aggregateType = :aggregateType and e.operation = :operation" +
+            " and e.id > :id and e.createdAt <= :until" +
+            " order by e.id asc")
+    List<ChangeEvent> findTombstones(@Param("aggregateType") String aggregateType,
+                                     @Param("operation") ChangeOperation operation,
+                                     @Param("id") Long id,
+                                     @Param("until") LocalDateTime until,
+                                     Pageable pageable);
+}
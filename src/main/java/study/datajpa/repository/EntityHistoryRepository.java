@@ -0,0 +1,45 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.datajpa.entity.EntityHistory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface EntityHistoryRepository extends JpaRepository<EntityHistory, Long> {
+
+    // 시점 조회: at 이전(포함)의 마지막 행 1건 -> (entityType, entityId, validFrom) 인덱스를 거꾸로 한 칸만 읽음
+    Optional<EntityHistory> findFirstByEntityTypeAndEntityIdAndValidFromLessThanEqualOrderByValidFromDescIdDesc(
+            String entityType, Long entityId, Instant at);
+
+    List<EntityHistory> findByEntityTypeAndEntityIdOrderByValidFromAscIdAsc(String entityType, Long entityId);
+
+    // 보존 기간 정리 1) cutoff 이전 행 중 cutoff 이전의 더 최신 행이 있는 것 (cutoff 시점 상태를 만드는 마지막 행만 남김)
+    // JPQL은 같은 테이블 상관 서브쿼리가 애매해짐 -> 네이티브 (컨버터가 안 붙으므로 cutoff는 EpochMillisConverter.toDatabaseColumn 값)
+    // 한 번에 지우면 첫 실행 때 거대한 트랜잭션 하나가 되므로 id를 batch(Pageable) 단위로 골라서 deleteAllByIdInBatch
+    String SUPERSEDED = "select h.history_id from entity_history h where h.valid_from < :cutoff and exists (" +
+            " select 1 from entity_history n where n.entity_type = h.entity_type and n.entity_id = h.entity_id" +
+            " and n.valid_from < :cutoff" +
+            " and (n.valid_from > h.valid_from or (n.valid_from = h.valid_from and n.history_id > h.history_id)))";
+
+    @Query(value = SUPERSEDED, nativeQuery = true)
+    List<Number> findSupersededIdsBefore(@Param("cutoff") long cutoffEpochMillis, Pageable batch);
+
+    // 엔티티 하나만
+    @Query(value = SUPERSEDED + " and h.entity_type = :entityType and h.entity_id = :entityId", nativeQuery = true)
+    List<Number> findSupersededIdsBefore(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                         @Param("cutoff") long cutoffEpochMillis, Pageable batch);
+
+    // 보존 기간 정리 2) cutoff 이전에 삭제된 엔티티의 마지막 행 (1) 이후라 삭제 행이 곧 마지막 행 -> cutoff 이후엔 어차피 "없음")
+    @Query("select h.id from EntityHistory h where h.validFrom < :cutoff and h.operation = study.datajpa.entity.ChangeOperation.DELETE")
+    List<Long> findTombstoneIdsBefore(@Param("cutoff") Instant cutoff, Pageable batch);
+
+    @Query("select h.id from EntityHistory h where h.entityType = :entityType and h.entityId = :entityId" +
+            " and h.validFrom < :cutoff and h.operation = study.datajpa.entity.ChangeOperation.DELETE")
+    List<Long> findTombstoneIdsBefore(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                      @Param("cutoff") Instant cutoff, Pageable batch);
+}
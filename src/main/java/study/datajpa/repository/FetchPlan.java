@@ -0,0 +1,67 @@
+package study.datajpa.repository;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 호출할 때 고르는 페치 전략 (@EntityGraph는 메서드에 고정이라 호출하는 쪽마다 다르게 줄 수 없음)
+ *  - FetchPlan.lazy(): 연관관계는 전부 지연로딩
+ *  - FetchPlan.of("team"): 지정한 연관관계만 같이 조회 (중첩은 "team.members" 처럼 점으로)
+ *  - FetchPlan.profiled(): FetchProfiler가 호출 위치별로 실제 접근한 연관관계를 기록해서 알아서 고름
+ */
+public final class FetchPlan {
+
+    private static final FetchPlan LAZY = new FetchPlan(Collections.emptySet(), false);
+    private static final FetchPlan PROFILED = new FetchPlan(Collections.emptySet(), true);
+
+    private final Set<String> attributePaths;
+    private final boolean profiled;
+
+    private FetchPlan(Set<String> attributePaths, boolean profiled) {
+        this.attributePaths = attributePaths;
+        this.profiled = profiled;
+    }
+
+    public static FetchPlan lazy() {
+        return LAZY;
+    }
+
+    public static FetchPlan of(String... attributePaths) {
+        return new FetchPlan(Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(attributePaths))), false);
+    }
+
+    public static FetchPlan profiled() {
+        return PROFILED;
+    }
+
+    public Set<String> getAttributePaths() {
+        return attributePaths;
+    }
+
+    public boolean isProfiled() {
+        return profiled;
+    }
+
+    // "team", "team.members" 같은 경로 목록을 JPA EntityGraph로 변환 (쿼리 힌트 javax.persistence.loadgraph로 사용)
+    public static <T> EntityGraph<T> toEntityGraph(EntityManager em, Class<T> type, Set<String> attributePaths) {
+        EntityGraph<T> graph = em.createEntityGraph(type);
+        for (String path : attributePaths) {
+            String[] names = path.split("\\.");
+            if (names.length == 1) {
+                graph.addAttributeNodes(names[0]);
+                continue;
+            }
+            Subgraph<?> subgraph = graph.addSubgraph(names[0]);
+            for (int i = 1; i < names.length - 1; i++) {
+                subgraph = subgraph.addSubgraph(names[i]);
+            }
+            subgraph.addAttributeNodes(names[names.length - 1]);
+        }
+        return graph;
+    }
+}
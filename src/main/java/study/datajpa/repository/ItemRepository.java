@@ -3,5 +3,7 @@ package study.datajpa.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import study.datajpa.entity.Item;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+import java.util.UUID;
+
+public interface ItemRepository extends JpaRepository<Item, UUID> {
 }
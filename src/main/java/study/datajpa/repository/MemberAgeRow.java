@@ -0,0 +1,9 @@
+package study.datajpa.repository;
+
+// 통계용 컬럼 저장소(MemberColumnStore) 적재용 (id, age, 팀 id만 select)
+public interface MemberAgeRow {
+
+    Long getId();
+    int getAge();
+    Long getTeamId();
+}
@@ -0,0 +1,213 @@
+package study.datajpa.repository;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.stereotype.Repository;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.event.ChangeEventOutbox;
+import study.datajpa.event.EntityChangedEvent;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 배치 작업용 Member/Team 리포지토리 (하이버네이트 StatelessSession)
+ *  - 영속성 컨텍스트(1차 캐시)가 없음 -> 몇 백만 건을 읽고 써도 메모리가 늘어나지 않음
+ *  - 변경 감지, 지연 로딩, cascade, JPA 콜백 없음 -> insert/update/delete는 호출한 그대로 바로 SQL 실행
+ *  - 스프링 트랜잭션과 별개로 자체 커넥션/트랜잭션 사용. 쓰기는 chunkSize(datajpa.batch.chunk-size)건마다 커밋
+ *
+ * 일반 리포지토리가 자동으로 해주던 것을 여기서 직접 처리
+ *  - Auditing(@CreatedDate 등): AuditingHandler로 직접 채움
+ *  - 변경 이벤트(아웃박스): 하이버네이트 이벤트가 안 나가므로 같은 트랜잭션에서 직접 기록하고, 커밋 후 EntityChangedEvent 발행
+ */
+@Repository
+public class MemberBatchRepository {
+
+    private final SessionFactory sessionFactory;
+    private final ChangeEventOutbox changeEventOutbox;
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+    private final int chunkSize;
+
+    public MemberBatchRepository(EntityManagerFactory entityManagerFactory,
+                                 ChangeEventOutbox changeEventOutbox,
+                                 ObjectProvider<AuditingHandler> auditingHandler,
+                                 @Value("${datajpa.batch.chunk-size:1000}") int chunkSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.changeEventOutbox = changeEventOutbox;
+        this.auditingHandler = auditingHandler;
+        this.chunkSize = chunkSize;
+    }
+
+    // 팀까지 페치 조인해서 한 건씩 넘겨줌 (넘겨준 엔티티는 어디에도 보관되지 않음). 처리한 건수 반환
+    // 커서가 끝까지 열려 있으므로 읽으면서 쓰려면 forEachMemberChunk 사용
+    public long forEachMember(int fetchSize, Consumer<Member> action) {
+        return forEach("select m from Member m left join fetch m.team order by m.id", fetchSize, Member.class, action);
+    }
+
+    /**
+     * chunkSize건씩 id 순서로 읽어서(키셋 페이징) 리스트로 넘겨줌. 처리한 건수 반환
+     *  - 페이지마다 짧은 읽기 트랜잭션으로 읽고 닫은 뒤 콜백 호출 -> 콜백 안에서 updateAll/deleteAll을 불러도
+     *    열려 있는 커서/트랜잭션이 없어서 커넥션을 두 개 잡거나 교착되지 않음
+     *  - 넘겨준 리스트는 다음 페이지를 읽기 전에 버려짐 -> 메모리는 chunkSize 만큼만 (콜백에서 보관하지 말 것)
+     *  - 콜백에서 삭제해도 마지막 id 다음부터 읽으므로 건너뛰는 행이 없음
+     */
+    public long forEachMemberChunk(int chunkSize, Consumer<List<Member>> action) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+        long count = 0;
+        long lastId = Long.MIN_VALUE;
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            while (true) {
+                List<Member> chunk;
+                Transaction tx = session.beginTransaction();
+                try {
+                    chunk = session.createQuery("select m from Member m left join fetch m.team" +
+                                    " where m.id > :lastId order by m.id", Member.class)
+                            .setParameter("lastId", lastId)
+                            .setMaxResults(chunkSize)
+                            .setReadOnly(true)
+                            .getResultList();
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    tx.rollback();
+                    throw e;
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1).getId();
+                count += chunk.size();
+                action.accept(chunk);
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+        } finally {
+            session.close();
+        }
+        return count;
+    }
+
+    public long forEachTeam(int fetchSize, Consumer<Team> action) {
+        return forEach("select t from Team t order by t.id", fetchSize, Team.class, action);
+    }
+
+    public void insertAll(List<?> entities) {
+        write(entities, ChangeOperation.INSERT);
+    }
+
+    // 변경 감지가 없으므로 넘겨준 엔티티의 모든 컬럼으로 update
+    public void updateAll(List<?> entities) {
+        write(entities, ChangeOperation.UPDATE);
+    }
+
+    public void deleteAll(List<?> entities) {
+        write(entities, ChangeOperation.DELETE);
+    }
+
+    private <T> long forEach(String query, int fetchSize, Class<T> type, Consumer<T> action) {
+        long count = 0;
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction tx = session.beginTransaction();
+            ScrollableResults results = session.createQuery(query, type)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            try {
+                while (results.next()) {
+                    action.accept(type.cast(results.get(0)));
+                    count++;
+                }
+            } finally {
+                results.close();
+            }
+            tx.commit();
+        } finally {
+            session.close();
+        }
+        return count;
+    }
+
+    private void write(List<?> entities, ChangeOperation operation) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            for (int from = 0; from < entities.size(); from += chunkSize) {
+                List<?> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+                List<EntityChangedEvent> changes = new ArrayList<>(chunk.size());
+                Transaction tx = session.beginTransaction();
+                try {
+                    for (Object entity : chunk) {
+                        apply(session, entity, operation);
+                        changes.add(changeOf(entity, operation)); // insert 후라야 id가 있음
+                    }
+                    changeEventOutbox.writeDirectly(session, changes);
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    tx.rollback();
+                    throw e;
+                }
+                changeEventOutbox.publishCommitted(changes);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private void apply(StatelessSession session, Object entity, ChangeOperation operation) {
+        if (!(entity instanceof Member) && !(entity instanceof Team)) {
+            throw new IllegalArgumentException("Member, Team만 지원합니다: " + entity.getClass().getName());
+        }
+        AuditingHandler handler = auditingHandler.getIfAvailable();
+        switch (operation) {
+            case INSERT:
+                if (handler != null) {
+                    handler.markCreated(entity);
+                }
+                session.insert(entity);
+                break;
+            case UPDATE:
+                if (handler != null) {
+                    handler.markModified(entity);
+                }
+                session.update(entity);
+                break;
+            default:
+                session.delete(entity);
+        }
+    }
+
+    // ChangeCaptureListener와 같은 모양의 state (연관관계는 id)
+    private EntityChangedEvent changeOf(Object entity, ChangeOperation operation) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            state.put("username", member.getUsername());
+            state.put("age", member.getAge());
+            state.put("team", member.getTeam() == null ? null : member.getTeam().getId());
+            state.put("lastModifiedDate", member.getLastModifiedDate());
+            return new EntityChangedEvent("Member", member.getId(), operation, state);
+        }
+        if (entity instanceof Team) {
+            Team team = (Team) entity;
+            state.put("name", team.getName());
+            state.put("lastModifiedDate", team.getLastModifiedDate());
+            return new EntityChangedEvent("Team", team.getId(), operation, state);
+        }
+        throw new IllegalArgumentException(entity.getClass().getName());
+    }
+}
@@ -0,0 +1,71 @@
+package study.datajpa.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberSnapshot;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.EntityHistory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 회원 시점 조회 ("회원 X는 T 시점에 어땠나") - 백업 복원 없이 이력 테이블(EntityHistory)에서 바로 조회
+ *  - asOf: T 이전(포함)의 마지막 이력 행 하나로 상태를 복원. 그 행이 삭제거나, 그때 아직 없었으면 empty
+ *  - 이력의 시각은 UTC로 저장된 Instant라 시간대 변환 없이 그대로 비교
+ *  - 이력 시각은 커밋 직전 시각이라 T와 아주 가까운 시점은 커밋 순서와 어긋날 수 있음 (EntityHistory 참고)
+ *  - 보존 기간(HistoryRetentionJob)보다 오래된 시점은 정확하지 않을 수 있음
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberHistoryRepository {
+
+    private static final String MEMBER = "Member";
+
+    private final EntityHistoryRepository entityHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    public Optional<MemberSnapshot> asOf(Long memberId, Instant instant) {
+        return entityHistoryRepository
+                .findFirstByEntityTypeAndEntityIdAndValidFromLessThanEqualOrderByValidFromDescIdDesc(MEMBER, memberId, instant)
+                .filter(history -> history.getOperation() != ChangeOperation.DELETE)
+                .map(this::toSnapshot);
+    }
+
+    // 변경 순서대로 전체 이력 (삭제 행 제외)
+    public List<MemberSnapshot> history(Long memberId) {
+        List<MemberSnapshot> snapshots = new ArrayList<>();
+        for (EntityHistory history : entityHistoryRepository.findByEntityTypeAndEntityIdOrderByValidFromAscIdAsc(MEMBER, memberId)) {
+            if (history.getOperation() != ChangeOperation.DELETE) {
+                snapshots.add(toSnapshot(history));
+            }
+        }
+        return snapshots;
+    }
+
+    private MemberSnapshot toSnapshot(EntityHistory history) {
+        Map<String, Object> state = readState(history.getPayload());
+        Object age = state.get("age");
+        Object team = state.get("team");
+        return new MemberSnapshot(history.getEntityId(), (String) state.get("username"),
+                age == null ? 0 : ((Number) age).intValue(),
+                team == null ? null : ((Number) team).longValue(),
+                history.getValidFrom());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readState(String payload) {
+        try {
+            return objectMapper.readValue(payload, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("history payload deserialization failed", e);
+        }
+    }
+}
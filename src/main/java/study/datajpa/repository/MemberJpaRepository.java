@@ -1,20 +1,26 @@
 package study.datajpa.repository;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Member;
+import study.datajpa.event.ChangeEventOutbox;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 // update는 필요가없음 기본적으로 객체만 수정해도 변경감지를 통해 트랜잭션 커밋을 통해 반영함.
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final ChangeEventOutbox changeEventOutbox;
+
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -44,6 +50,11 @@ public class MemberJpaRepository {
         return em.find(Member.class, id);
     }
 
+    // 반복문에서 find(id)를 여러 번 부르는 대신 (입력 순서 유지, 없는 id는 null)
+    public List<Member> findAllByIdOrdered(List<Long> ids) {
+        return OrderedMultiLoad.findAllByIdOrdered(em, Member.class, ids);
+    }
+
     public List<Member> findByUsernameAndAgeGreaterThan(String username, int age) {
         return em.createQuery("select m from Member m where m.username = :username and m.age > :age", Member.class)
                 .setParameter("username", username)
@@ -65,11 +76,23 @@ public class MemberJpaRepository {
                 .getSingleResult();
     }
 
+    // 벌크 연산은 하이버네이트 이벤트가 안 나가므로 변경된 회원들의 이벤트를 직접 아웃박스에 남김
     public int bulkAgePlus(int age) {
-        return em.createQuery(
-                "update Member m set m.age = m.age + 1" +
-                        " where m.age >= :age")
+        List<Long> ids = em.createQuery("select m.id from Member m where m.age >= :age", Long.class)
                 .setParameter("age", age)
-                .executeUpdate();
+                .getResultList();
+        // 조건으로 다시 update하면 두 쿼리 사이에 다른 트랜잭션이 바꾼 행까지 이벤트 없이 바뀜 -> 조회한 id만 update
+        LocalDateTime now = LocalDateTime.now(); // 벌크 연산은 Auditing이 안 먹으므로 직접 갱신
+        int resultCount = 0;
+        for (int from = 0; from < ids.size(); from += ChangeEventOutbox.IN_CLAUSE_BATCH) {
+            resultCount += em.createQuery(
+                    "update Member m set m.age = m.age + 1, m.lastModifiedDate = :now" +
+                            " where m.id in :ids")
+                    .setParameter("ids", ids.subList(from, Math.min(from + ChangeEventOutbox.IN_CLAUSE_BATCH, ids.size())))
+                    .setParameter("now", now)
+                    .executeUpdate();
+        }
+        changeEventOutbox.appendMemberUpdates(em, ids);
+        return resultCount;
     }
 }
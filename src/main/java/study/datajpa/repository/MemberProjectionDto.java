@@ -0,0 +1,39 @@
+package study.datajpa.repository;
+
+/**
+ * 네이티브 쿼리 + MemberProjection의 클래스 기반 구현체
+ *  - 스프링 데이터 JPA의 네이티브 Projections는 row마다 Tuple 기반 프록시를 만들고, getter 호출마다 alias로 map 조회를 한다.
+ *  - 이 클래스는 컬럼 순서(index)로 값을 바로 꺼내서 생성자로 채우므로 프록시/alias 조회 비용이 없다.
+ */
+public class MemberProjectionDto implements MemberProjection {
+
+    private final Long id;
+    private final String username;
+    private final String teamname;
+
+    public MemberProjectionDto(Long id, String username, String teamname) {
+        this.id = id;
+        this.username = username;
+        this.teamname = teamname;
+    }
+
+    // select m.member_id, m.username, t.name 순서로 조회한 row를 그대로 변환
+    static MemberProjectionDto fromRow(Object[] row) {
+        return new MemberProjectionDto(((Number) row[0]).longValue(), (String) row[1], (String) row[2]);
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getTeamname() {
+        return teamname;
+    }
+}
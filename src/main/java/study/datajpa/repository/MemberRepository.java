@@ -6,12 +6,16 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberView;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 스프링 데이터 JPA 리포지토리는 인터페이스만 정의하고 구현체는 스프링이 자동 생성
@@ -97,6 +101,27 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
+    // 추가 예시 1-2) 접두어로 시작하는 username (자동완성). escape()로 접두어 안의 %, _ 는 문자 그대로 비교
+    // Pageable로 limit -> 전체 username을 가져와서 자바에서 거르지 않음 (username 인덱스 범위 조회)
+    @Query("select distinct m.username from Member m where m.username like ?#{escape([0])}% escape ?#{escapeCharacter()} order by m.username")
+    List<String> findUsernamesByPrefix(String prefix, Pageable pageable);
+
+    // 추가 예시 1-1) 전체를 List로 받지 않고 Stream으로 한 건씩 (트랜잭션 안에서 사용하고 반드시 close)
+    // fetchSize 힌트로 JDBC 드라이버가 한번에 가져올 row 수 지정 -> 전체 회원을 메모리에 올리지 않고 적재 가능
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select m.id as id, m.username as username from Member m")
+    Stream<MemberUsername> streamUsernames();
+
+    // 검색 인덱스(MemberSearchIndex) 적재용
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select m.id as id, m.username as username, t.id as teamId from Member m left join m.team t")
+    Stream<MemberSearchRow> streamSearchRows();
+
+    // 통계용 컬럼 저장소(MemberColumnStore) 적재용
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select m.id as id, m.age as age, t.id as teamId from Member m left join m.team t")
+    Stream<MemberAgeRow> streamAgeRows();
+
     // 추가 예시 2) DTO로 조회
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
@@ -125,6 +150,13 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Member findMemberByUsername(String username); // 단건
     Optional<Member> findOptionalByUsername(String username); // 단건을 Optional을 감싼
 
+    // 있는지/몇 개인지만 필요하면 엔티티를 만들지 말고 exists/count 로
+    // exists: select m.id ... where ... limit 1 -> 첫 행을 찾는 즉시 끝, 엔티티 생성 없음 (findListByUsername(..).isEmpty() 대신)
+    // count: select count(m.id) -> team_id(FK), (age, member_id) 인덱스만 읽고 테이블은 안 읽음
+    boolean existsByUsername(String username);
+    long countByTeam(Team team);
+    long countByAgeGreaterThan(int age);
+
 
     /**
      * 5. 페이징
@@ -148,15 +180,34 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Page<Member> findByAge(int age, Pageable pageable);
     Slice<Member> findByUsername(String username, Pageable pageable);
 
+    // 4) content 쿼리와 count 쿼리를 따로 선언 -> MemberQueryService에서 두 쿼리를 동시에 실행해서 Page로 합침
+    // 다른 스레드의 트랜잭션에서 조회되어 준영속 상태로 넘어가므로 team은 미리 페치 조인
+    @EntityGraph(attributePaths = {"team"})
+    List<Member> findListByAge(int age, Pageable pageable);
+    long countByAge(int age);
+
+
+    // 5) 키셋(커서) 페이징 - 증분 동기화용
+    // offset 없이 (lastModifiedDate, id) 보다 뒤에 있는 행부터 size 만큼 -> idx_member_last_modified 인덱스를 그대로 탐
+    // until: 아직 커밋 안 된 트랜잭션이 더 이른 시각으로 끼어들 수 있어서, 최근 구간은 다음 조회로 미룸
+    @Query("select m from Member m left join fetch m.team" +
+            " where (m.lastModifiedDate > :since or (m.lastModifiedDate = :since and m.id > :id))" +
+            " and m.lastModifiedDate <= :until" +
+            " order by m.lastModifiedDate asc, m.id asc")
+    List<Member> findChangesSince(@Param("since") LocalDateTime since, @Param("id") Long id,
+                                  @Param("until") LocalDateTime until, Pageable pageable);
+
 
     /**
      * 6. 벌크성 수정 쿼리 - 변경감지는 한건한건 쿼리를 날리는거임. 근데 한번에 업데이트 쿼리른 날려야하는 경우가 있음
      */
     // @Modifying이 있어야 마지막에 .executeUpdate()를 실행함 (안그러면 getResultList() 같은걸 붙여버림)
     // clearAutomatically = true를 옵션으로 추가하면, 실제 로직에 em.clear()를 생략할 수도 있음.
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    // 원래 형태:
+    // @Modifying(clearAutomatically = true)
+    // @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    // int bulkAgePlus(@Param("age") int age);
+    // -> 벌크 연산은 하이버네이트 이벤트가 안 나가서 변경 이벤트(아웃박스)가 누락됨. 그래서 MemberRepositoryCustom으로 옮겨서 직접 남김
 
 
     /**
@@ -175,6 +226,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      * 그리고 실무에서는 거의 안쓰지만 @NamedEntityGraph라는 것도 있다는 것 가볍게 알아두기
      *
      * 아래는 7번과 관련된 5가지 예시들
+     * 참고) 아래는 전부 team을 항상 같이 가져옴. 호출하는 쪽마다 필요한 게 다르면
+     * MemberRepositoryCustom의 findAllWithPlan / findByUsernameWithPlan 에 FetchPlan을 넘겨서 호출 시점에 고르기
      */
     // 1) EntityGraph를 안쓴 순수 JPQL 방식의 fetch join
     @Query("select m from Member m left join fetch m.team")
@@ -257,6 +310,20 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     // 다음과 같이 Generic type을 주면, 동적으로 프로젝션 데이터 번경 가능
     <T> List<T> findProjectionsByUsername(String username, Class<T> type);
 
+    // 5) 중첩구조 Projections 최적화
+    // findProjectionsByUsername(username, NestedClosedProjections.class)는 team 엔티티 전체를 select + row마다 프록시 생성
+    // new 생성자 문법으로 중첩 내부까지 필요한 컬럼만 select 하고, 프록시 대신 구체 클래스로 바로 받음
+    @Query("select new study.datajpa.repository.NestedClosedProjectionsDto(m.username, t.id, t.name)" +
+            " from Member m left join m.team t" +
+            " where m.username = :username")
+    List<NestedClosedProjectionsDto> findNestedProjectionsByUsername(@Param("username") String username);
+
+    // 6) 캐시용 읽기 전용 뷰 (MemberViewCache가 사용)
+    @Query("select new study.datajpa.dto.MemberView(m.id, m.username, m.age, t.id)" +
+            " from Member m left join m.team t" +
+            " where m.id = :id")
+    Optional<MemberView> findViewById(@Param("id") Long id);
+
 
     /**
      * 10. Native Query
@@ -294,11 +361,15 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Member findByNativeQuery(String username);
 
     // 2) 네이티브 쿼리 + Projections를 함께 활용 (+ Dto도 만들어서 적용)
-    @Query(value = "select m.member_id as id, m.username, t.name as teamName " + "from member m left join team t",
+    // 주의: left join에 on 조건이 없으면 member x team 카티션 곱이 되어버림
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName " + "from member m left join team t on m.team_id = t.team_id",
             countQuery = "select count(*) from member",
             nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
 
+    // 2-1) 위 방식은 row마다 Tuple 기반 프록시가 생성되고 getter마다 alias 조회가 일어남
+    // 대량 조회라면 MemberRepositoryCustom.findByNativeProjectionDto 처럼 컬럼 index로 직접 DTO를 채우는 게 빠름
+
     // 3) 동적 네이티브 쿼리 (하이버네이트를 직접 활용)
 
 }
@@ -1,9 +1,28 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import study.datajpa.entity.Member;
 
 import java.util.List;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    // 네이티브 쿼리 결과를 프록시 없이 MemberProjectionDto로 바로 변환 (정렬은 member_id 고정)
+    Page<MemberProjection> findByNativeProjectionDto(Pageable pageable);
+
+    // 벌크 update + 변경된 회원들의 변경 이벤트(아웃박스) 기록
+    int bulkAgePlus(int age);
+
+    // 페치 전략을 호출할 때 고름 (@EntityGraph 고정 대신 FetchPlan.lazy() / of("team") / profiled())
+    List<Member> findAllWithPlan(FetchPlan plan);
+
+    List<Member> findByUsernameWithPlan(String username, FetchPlan plan);
+
+    // 페이징 + FetchPlan. "team.members" 같은 컬렉션이 들어가도 메모리 페이징 없이 id 페이지 -> 그래프 조회 (TwoPhasePaging)
+    Page<Member> findAllWithPlan(Pageable pageable, FetchPlan plan);
+
+    // id 목록 -> 입력 순서대로 회원 (없는 id는 null). 1차 캐시에 있는 건 쿼리 없이, 나머지는 in 절로 묶어서 (OrderedMultiLoad)
+    List<Member> findAllByIdOrdered(List<Long> ids);
 }
@@ -1,19 +1,119 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
+import study.datajpa.event.ChangeEventOutbox;
+import study.datajpa.metrics.FetchProfiler;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     private final EntityManager em;
+    private final ChangeEventOutbox changeEventOutbox;
+    private final FetchProfiler fetchProfiler;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public Page<MemberProjection> findByNativeProjectionDto(Pageable pageable) {
+        // 결과 매핑을 지정하지 않으면 row가 Object[]로 넘어옴 -> 컬럼 index로 바로 꺼내서 생성자로 채움
+        List<Object[]> rows = em.createNativeQuery(
+                "select m.member_id, m.username, t.name" +
+                        " from member m left join team t on m.team_id = t.team_id" +
+                        " order by m.member_id")
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<MemberProjection> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add(MemberProjectionDto.fromRow(row));
+        }
+
+        long total = ((Number) em.createNativeQuery("select count(*) from member")
+                .getSingleResult()).longValue();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        List<Long> ids = em.createQuery("select m.id from Member m where m.age >= :age", Long.class)
+                .setParameter("age", age)
+                .getResultList();
+        // 조건으로 다시 update하면 두 쿼리 사이에 다른 트랜잭션이 바꾼 행까지 이벤트 없이 바뀜 -> 조회한 id만 update
+        LocalDateTime now = LocalDateTime.now(); // 벌크 연산은 Auditing이 안 먹으므로 직접 갱신
+        int resultCount = 0;
+        for (int from = 0; from < ids.size(); from += ChangeEventOutbox.IN_CLAUSE_BATCH) {
+            resultCount += em.createQuery("update Member m set m.age = m.age + 1, m.lastModifiedDate = :now where m.id in :ids")
+                    .setParameter("ids", ids.subList(from, Math.min(from + ChangeEventOutbox.IN_CLAUSE_BATCH, ids.size())))
+                    .setParameter("now", now)
+                    .executeUpdate();
+        }
+        em.clear(); // @Modifying(clearAutomatically = true)와 같은 효과
+
+        changeEventOutbox.appendMemberUpdates(em, ids);
+        return resultCount;
+    }
+
+    @Override
+    public List<Member> findAllWithPlan(FetchPlan plan) {
+        return withPlan("findAllWithPlan", plan,
+                em.createQuery("select m from Member m", Member.class));
+    }
+
+    @Override
+    public List<Member> findByUsernameWithPlan(String username, FetchPlan plan) {
+        return withPlan("findByUsernameWithPlan", plan,
+                em.createQuery("select m from Member m where m.username = :username", Member.class)
+                        .setParameter("username", username));
+    }
+
+    @Override
+    public Page<Member> findAllWithPlan(Pageable pageable, FetchPlan plan) {
+        FetchProfiler.Decision decision = plan.isProfiled() ? fetchProfiler.decide("findAllWithPlan(Pageable)", Member.class) : null;
+        Page<Member> page = TwoPhasePaging.findPage(em, Member.class, pageable, attributePathsOf(plan, decision));
+        if (decision != null) {
+            fetchProfiler.afterQuery(decision, page.getContent());
+        }
+        return page;
+    }
+
+    @Override
+    public List<Member> findAllByIdOrdered(List<Long> ids) {
+        return OrderedMultiLoad.findAllByIdOrdered(em, Member.class, ids);
+    }
+
+    // loadgraph 힌트: 그래프에 넣은 연관관계만 페치 조인, 나머지는 엔티티에 선언된 fetch 전략 그대로
+    private List<Member> withPlan(String method, FetchPlan plan, TypedQuery<Member> query) {
+        FetchProfiler.Decision decision = plan.isProfiled() ? fetchProfiler.decide(method, Member.class) : null;
+        Set<String> attributePaths = attributePathsOf(plan, decision);
+        if (!attributePaths.isEmpty()) {
+            query.setHint("javax.persistence.loadgraph", FetchPlan.toEntityGraph(em, Member.class, attributePaths));
+        }
+        List<Member> result = query.getResultList();
+        if (decision != null) {
+            fetchProfiler.afterQuery(decision, result);
+        }
+        return result;
+    }
+
+    private static Set<String> attributePathsOf(FetchPlan plan, FetchProfiler.Decision decision) {
+        return decision == null ? plan.getAttributePaths() : decision.getAttributePaths();
+    }
 }
@@ -0,0 +1,9 @@
+package study.datajpa.repository;
+
+// 검색 인덱스 적재용 (id, username, 팀 id만 select)
+public interface MemberSearchRow {
+
+    Long getId();
+    String getUsername();
+    Long getTeamId();
+}
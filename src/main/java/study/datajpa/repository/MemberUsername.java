@@ -0,0 +1,8 @@
+package study.datajpa.repository;
+
+// 인메모리 username 인덱스 적재용 (id, username 두 컬럼만 select)
+public interface MemberUsername {
+
+    Long getId();
+    String getUsername();
+}
@@ -0,0 +1,44 @@
+package study.datajpa.repository;
+
+/**
+ * 중첩구조 Projections의 클래스 기반 구현체
+ *  - 인터페이스 기반 중첩 Projections는 root(Member)만 select 최적화가 되고, 중첩 내부(Team)는 엔티티 전체를 select 해온다.
+ *  - 또한 row마다 JDK 프록시를 만들어서 getter 호출 시 마다 리플렉션으로 값을 꺼낸다.
+ *  - JPQL new 생성자 문법으로 필요한 컬럼(m.username, t.id, t.name)만 select 하고, 일반 객체로 바로 채워서 위 두 문제를 해결
+ *  - NestedClosedProjections를 구현하므로 기존 인터페이스 타입 그대로 사용 가능
+ */
+public class NestedClosedProjectionsDto implements NestedClosedProjections {
+
+    private final String username;
+    private final TeamInfoDto team;
+
+    // left join 이라 팀이 없는 회원은 teamId가 null -> 인터페이스 기반 Projections처럼 team 자체를 null로 둠
+    public NestedClosedProjectionsDto(String username, Long teamId, String teamName) {
+        this.username = username;
+        this.team = teamId == null ? null : new TeamInfoDto(teamName);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public TeamInfo getTeam() {
+        return team;
+    }
+
+    public static class TeamInfoDto implements TeamInfo {
+
+        private final String name;
+
+        public TeamInfoDto(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
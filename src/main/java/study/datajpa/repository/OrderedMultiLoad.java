@@ -0,0 +1,53 @@
+package study.datajpa.repository;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * id 목록으로 여러 엔티티를 한 번에 조회 (반복문에서 findById를 id마다 호출하면 id 개수만큼 쿼리가 나감)
+ *  - 중복/null id 제거 후 하이버네이트 multiLoad 사용
+ *  - 영속성 컨텍스트(1차 캐시)에 이미 있는 엔티티는 쿼리 없이 그대로 사용 (enableSessionCheck)
+ *    2차 캐시를 켜면 2차 캐시도 먼저 확인함
+ *  - 나머지만 BATCH_SIZE 개씩 where id in (...) 으로 조회 (in 절이 너무 길어지지 않게)
+ *  - 결과는 입력 순서 그대로, 없는(또는 삭제된) id 자리는 null. 같은 id가 여러 번 있으면 같은 엔티티가 여러 번
+ */
+final class OrderedMultiLoad {
+
+    static final int BATCH_SIZE = 500;
+
+    private OrderedMultiLoad() {
+    }
+
+    static <T> List<T> findAllByIdOrdered(EntityManager em, Class<T> type, List<? extends Serializable> ids) {
+        List<Serializable> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+
+        Map<Serializable, T> byId = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            List<T> loaded = em.unwrap(Session.class).byMultipleIds(type)
+                    .enableSessionCheck(true)
+                    .enableOrderedReturn(true)
+                    .withBatchSize(BATCH_SIZE)
+                    .multiLoad(distinct);
+            for (int i = 0; i < distinct.size(); i++) {
+                if (loaded.get(i) != null) {
+                    byId.put(distinct.get(i), loaded.get(i));
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (Serializable id : ids) {
+            result.add(id == null ? null : byId.get(id));
+        }
+        return result;
+    }
+}
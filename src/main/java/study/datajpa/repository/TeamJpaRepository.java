@@ -1,24 +1,35 @@
 package study.datajpa.repository;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.event.ChangeEventOutbox;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final ChangeEventOutbox changeEventOutbox;
+
     public Team save(Team team) {
         em.persist(team);
         return team;
     }
 
+    // 소속 회원이 남아 있으면 member.team_id FK 때문에 실패함 -> 회원이 많은 팀은 TeamDeletionService 사용
     public void delete(Team team) {
         em.remove(team);
     }
@@ -41,4 +52,60 @@ public class TeamJpaRepository {
     public Team find(Long id) {
         return em.find(Team.class, id);
     }
+
+    /**
+     * 팀 삭제용 벌크 연산 (TeamDeletionService가 배치마다 호출)
+     *  - 회원을 한 건씩 조회/삭제하지 않고 id 목록 단위로 update/delete 한 번
+     *  - 벌크 연산은 영속성 컨텍스트와 하이버네이트 이벤트를 거치지 않으므로
+     *    아웃박스 이벤트를 직접 남기고, 2차 캐시에 남아 있을 수 있는 회원도 직접 비움
+     */
+    public List<Long> findMemberIds(Long teamId, int limit) {
+        return em.createQuery("select m.id from Member m where m.team.id = :teamId order by m.id", Long.class)
+                .setParameter("teamId", teamId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countMembers(Long teamId) {
+        return em.createQuery("select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult();
+    }
+
+    // 회원은 남기고 팀 소속만 끊음
+    public int detachMembers(List<Long> memberIds) {
+        int count = em.createQuery("update Member m set m.team = null, m.lastModifiedDate = :now where m.id in :ids")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", memberIds)
+                .executeUpdate();
+        evictMembers(memberIds);
+        changeEventOutbox.appendMemberUpdates(em, memberIds);
+        return count;
+    }
+
+    // 회원까지 삭제
+    public int deleteMembers(List<Long> memberIds) {
+        List<Object[]> rows = em.createQuery(
+                "select m.id, m.username, m.age, m.team.id from Member m where m.id in :ids", Object[].class)
+                .setParameter("ids", memberIds)
+                .getResultList();
+        int count = em.createQuery("delete from Member m where m.id in :ids")
+                .setParameter("ids", memberIds)
+                .executeUpdate();
+        evictMembers(memberIds);
+        for (Object[] row : rows) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("username", row[1]);
+            state.put("age", row[2]);
+            state.put("team", row[3]);
+            changeEventOutbox.append(em, "Member", (Long) row[0], ChangeOperation.DELETE, state);
+        }
+        return count;
+    }
+
+    private void evictMembers(List<Long> memberIds) {
+        for (Long id : memberIds) {
+            em.getEntityManagerFactory().getCache().evict(Member.class, id);
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.datajpa.entity.Team;
+
+public interface TeamRepositoryCustom {
+
+    // 팀 + 소속 회원(컬렉션)을 페이징 조회 -> id 페이지를 먼저 구하고 그 id들로 페치 조인 (TwoPhasePaging)
+    Page<Team> findAllWithMembers(Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final EntityManager em;
+
+    @Override
+    public Page<Team> findAllWithMembers(Pageable pageable) {
+        return TwoPhasePaging.findPage(em, Team.class, pageable, Collections.singleton("members"));
+    }
+}
@@ -0,0 +1,97 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 컬렉션을 페치 조인하면서 페이징할 때 쓰는 2단계 조회
+ *
+ * 컬렉션 페치 조인 + setFirstResult/setMaxResults 를 같이 쓰면 행이 컬렉션 크기만큼 뻥튀기되어서 DB에서 limit을 걸 수 없음
+ * -> 하이버네이트는 전체를 다 읽어온 다음 메모리에서 페이징함 (경고 HHH000104, 테이블 전체 로딩)
+ * -> application.yml의 hibernate.query.fail_on_pagination_over_collection_fetch=true 로 이런 쿼리는 바로 예외가 나게 막아둠
+ *
+ * 대신 이렇게 나눠서 조회
+ *  1) 페이지에 해당하는 id만 조회 (limit/offset + 정렬이 DB에서 그대로 적용됨)
+ *  2) 그 id들로 엔티티 그래프를 페치 조인해서 조회 (limit 없음) -> 1)의 순서대로 다시 정렬
+ *  3) count 쿼리는 필요할 때만 (PageableExecutionUtils)
+ */
+final class TwoPhasePaging {
+
+    private TwoPhasePaging() {
+    }
+
+    static <T> Page<T> findPage(EntityManager em, Class<T> type, Pageable pageable, Set<String> attributePaths) {
+        JpaEntityInformation<T, ?> information = JpaEntityInformationSupport.getEntityInformation(type, em);
+        String entityName = information.getEntityName();
+        String idName = information.getRequiredIdAttribute().getName();
+
+        // 1) id 페이지 (마지막에 id를 붙여서 정렬을 유일하게 고정해야 페이지끼리 겹치거나 빠지지 않음)
+        Sort sort = withIdTieBreaker(pageable.getSort(), idName);
+        TypedQuery<Object> idQuery = em.createQuery(
+                QueryUtils.applySorting("select e." + idName + " from " + entityName + " e", sort, "e"), Object.class);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset());
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Object> ids = idQuery.getResultList();
+
+        // 2) id로 그래프 조회 (컬렉션 조인으로 생기는 중복 행은 distinct로 제거, SQL에는 distinct를 넘기지 않음)
+        List<T> content = Collections.emptyList();
+        if (!ids.isEmpty()) {
+            TypedQuery<T> graphQuery = em.createQuery(
+                    "select distinct e from " + entityName + " e where e." + idName + " in :ids", type)
+                    .setParameter("ids", ids)
+                    .setHint("hibernate.query.passDistinctThrough", false);
+            if (!attributePaths.isEmpty()) {
+                graphQuery.setHint("javax.persistence.loadgraph", FetchPlan.toEntityGraph(em, type, attributePaths));
+            }
+            content = inIdOrder(graphQuery.getResultList(), ids, information);
+        }
+
+        // 3) count
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                em.createQuery("select count(e) from " + entityName + " e", Long.class).getSingleResult());
+    }
+
+    // age처럼 같은 값이 많은 컬럼으로 정렬하면 DB마다 같은 값끼리의 순서가 보장되지 않음
+    // -> 정렬에 id가 없으면 마지막 정렬과 같은 방향으로 id 추가 (정렬이 없으면 id 오름차순, SortableFields와 같은 규칙)
+    private static Sort withIdTieBreaker(Sort sort, String idName) {
+        if (sort.getOrderFor(idName) != null) {
+            return sort;
+        }
+        Sort.Direction lastDirection = Sort.Direction.ASC;
+        for (Sort.Order order : sort) {
+            lastDirection = order.getDirection();
+        }
+        return sort.and(Sort.by(lastDirection, idName));
+    }
+
+    private static <T> List<T> inIdOrder(List<T> entities, List<Object> ids, JpaEntityInformation<T, ?> information) {
+        Map<Object, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(information.getId(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) { // 1)과 2) 사이에 삭제된 행은 빠짐
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
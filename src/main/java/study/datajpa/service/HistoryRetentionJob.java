@@ -0,0 +1,91 @@
+package study.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.EpochMillisConverter;
+import study.datajpa.repository.EntityHistoryRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 이력 테이블(EntityHistory) 보존 기간 정리 - 이력이 끝없이 늘어나지 않게
+ *  - retention(기본 365일)보다 오래된 행 중, 그 뒤에도 cutoff 이전에 더 최신 행이 있는 것은 삭제
+ *    -> 엔티티마다 cutoff 시점 상태를 만드는 마지막 행 하나만 남으므로 cutoff 이후 시점 조회(asOf)는 그대로 정확
+ *  - cutoff 이전에 삭제된 엔티티는 마지막 삭제 행까지 지움
+ *  - 결과적으로 이력 크기 ~= 엔티티 수 + retention 기간 동안의 변경 수
+ *  - batch-size(기본 1000) 행씩 나눠서 각각 커밋
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.history.retention-job.enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryRetentionJob {
+
+    private final EntityHistoryRepository entityHistoryRepository;
+    private final TransactionTemplate transaction;
+    private final Duration retention;
+    private final int batchSize;
+
+    public HistoryRetentionJob(EntityHistoryRepository entityHistoryRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${datajpa.history.retention:365d}") Duration retention,
+                               @Value("${datajpa.history.retention-job.batch-size:1000}") int batchSize) {
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${datajpa.history.retention-job.interval:3600000}",
+            initialDelayString = "${datajpa.history.retention-job.initial-delay:60000}")
+    public void run() {
+        compact(Instant.now().minus(retention));
+    }
+
+    // 전체 정리. batchSize 행씩 각각의 트랜잭션으로 삭제 (첫 실행에 큰 테이블을 트랜잭션 하나로 잡고 있지 않게)
+    public int compact(Instant cutoff) {
+        long cutoffMillis = EpochMillisConverter.toDatabaseColumn(cutoff);
+        PageRequest batch = PageRequest.of(0, batchSize);
+        int superseded = deleteInBatches(() -> entityHistoryRepository.findSupersededIdsBefore(cutoffMillis, batch));
+        int tombstones = deleteInBatches(() -> entityHistoryRepository.findTombstoneIdsBefore(cutoff, batch));
+        if (superseded + tombstones > 0) {
+            log.info("history compacted before {}: superseded={}, deleted entities={}", cutoff, superseded, tombstones);
+        }
+        return superseded + tombstones;
+    }
+
+    // 엔티티 하나만 정리 (다른 엔티티 이력은 건드리지 않음)
+    public int compact(String entityType, Long entityId, Instant cutoff) {
+        long cutoffMillis = EpochMillisConverter.toDatabaseColumn(cutoff);
+        PageRequest batch = PageRequest.of(0, batchSize);
+        return deleteInBatches(() -> entityHistoryRepository.findSupersededIdsBefore(entityType, entityId, cutoffMillis, batch))
+                + deleteInBatches(() -> entityHistoryRepository.findTombstoneIdsBefore(entityType, entityId, cutoff, batch));
+    }
+
+    // 지운 행은 다음 조회에서 빠지므로 항상 첫 batch를 다시 조회, batchSize보다 적게 나오면 끝
+    private int deleteInBatches(Supplier<List<? extends Number>> nextBatch) {
+        int deleted = 0;
+        while (true) {
+            Integer count = transaction.execute(status -> {
+                List<Long> ids = nextBatch.get().stream().map(Number::longValue).collect(Collectors.toList());
+                if (!ids.isEmpty()) {
+                    entityHistoryRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            deleted += count;
+            if (count < batchSize) {
+                return deleted;
+            }
+        }
+    }
+}
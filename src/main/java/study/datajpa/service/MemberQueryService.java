@@ -0,0 +1,24 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+@Service
+@RequiredArgsConstructor
+public class MemberQueryService {
+
+    private final MemberRepository memberRepository;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+
+    // MemberRepository.findByAge(age, pageable)와 같은 Page 결과지만 content/count 쿼리를 동시에 실행
+    public Page<Member> findByAge(int age, Pageable pageable) {
+        return parallelQueryExecutor.page(
+                () -> memberRepository.findListByAge(age, pageable),
+                () -> memberRepository.countByAge(age),
+                pageable);
+    }
+}
@@ -0,0 +1,40 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.index.MemberSearchIndex;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * username/팀 이름 부분 문자열 검색
+ *  - MemberSearchIndex에서 순위가 매겨진 id를 받고, findAllByIdOrdered(in 쿼리로 묶어서)로 순위 순서 그대로 회원을 가져옴
+ *  - 색인과 DB 사이에 잠깐 차이가 있을 수 있으므로 DB에 없는 id는 그냥 빠짐
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberSearchService {
+
+    private final MemberSearchIndex memberSearchIndex;
+    private final MemberRepository memberRepository;
+
+    public List<MemberDto> search(String text, int limit) {
+        List<Long> ids = memberSearchIndex.search(text, limit);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<MemberDto> result = new ArrayList<>(ids.size());
+        for (Member member : memberRepository.findAllByIdOrdered(ids)) {
+            if (member != null) {
+                result.add(new MemberDto(member));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import study.datajpa.dto.TeamAgeStats;
+import study.datajpa.stats.MemberColumnStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 회원 나이/팀 통계 (MemberColumnStore 위에서 병렬 집계, DB 조회 없음 -> 트랜잭션도 없음)
+ *  - teamAgeStats: 팀별 인원, 최소/최대/평균 나이 (group by team)
+ *  - ageHistogram: 나이 구간별 인원
+ *  - agePercentiles: 나이 백분위수 (nearest-rank)
+ *  - teamId를 넘기면 그 팀 회원만, NO_TEAM(0)이면 팀이 없는 회원만
+ *
+ * 변경 이벤트로 갱신하므로 커밋 직후 아주 잠깐은 DB와 차이가 날 수 있음 (리포트용)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberStatsService {
+
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+
+    private final MemberColumnStore memberColumnStore;
+
+    public List<TeamAgeStats> teamAgeStats() {
+        Map<Long, long[]> byTeam = memberColumnStore.aggregate((ids, ages, teamIds, from, to) -> {
+            Map<Long, long[]> partial = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                long[] acc = partial.computeIfAbsent(teamIds[i], key -> new long[]{0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE});
+                acc[COUNT]++;
+                acc[SUM] += ages[i];
+                acc[MIN] = Math.min(acc[MIN], ages[i]);
+                acc[MAX] = Math.max(acc[MAX], ages[i]);
+            }
+            return partial;
+        }, (left, right) -> {
+            right.forEach((teamId, acc) -> left.merge(teamId, acc, (a, b) -> new long[]{
+                    a[COUNT] + b[COUNT], a[SUM] + b[SUM], Math.min(a[MIN], b[MIN]), Math.max(a[MAX], b[MAX])}));
+            return left;
+        });
+
+        List<TeamAgeStats> result = new ArrayList<>(byTeam.size());
+        new TreeMap<>(byTeam).forEach((teamId, acc) -> result.add(new TeamAgeStats(
+                teamId == MemberColumnStore.NO_TEAM ? null : teamId,
+                acc[COUNT], (int) acc[MIN], (int) acc[MAX], (double) acc[SUM] / acc[COUNT])));
+        return result;
+    }
+
+    // "20-29" -> 인원 (bucketWidth 단위, 나이순)
+    public Map<String, Long> ageHistogram(int bucketWidth, Long teamId) {
+        if (bucketWidth < 1) {
+            throw new IllegalArgumentException("bucketWidth는 1 이상이어야 합니다: " + bucketWidth);
+        }
+        Map<Integer, Long> counts = memberColumnStore.aggregate((ids, ages, teamIds, from, to) -> {
+            Map<Integer, Long> partial = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                if (matches(teamId, teamIds[i])) {
+                    partial.merge(Math.floorDiv(ages[i], bucketWidth) * bucketWidth, 1L, Long::sum);
+                }
+            }
+            return partial;
+        }, (left, right) -> {
+            right.forEach((bucket, count) -> left.merge(bucket, count, Long::sum));
+            return left;
+        });
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        new TreeMap<>(counts).forEach((bucket, count) -> histogram.put(bucket + "-" + (bucket + bucketWidth - 1), count));
+        return histogram;
+    }
+
+    // percentiles: 0 초과 100 이하 (ex. 50, 90, 99). 회원이 없으면 빈 Map
+    public Map<Double, Integer> agePercentiles(double[] percentiles, Long teamId) {
+        for (double p : percentiles) {
+            if (p <= 0 || p > 100) {
+                throw new IllegalArgumentException("백분위수는 0 초과 100 이하여야 합니다: " + p);
+            }
+        }
+        int[] selected = memberColumnStore.aggregate((ids, ages, teamIds, from, to) -> {
+            int[] partial = new int[to - from];
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                if (matches(teamId, teamIds[i])) {
+                    partial[n++] = ages[i];
+                }
+            }
+            return Arrays.copyOf(partial, n);
+        }, (left, right) -> {
+            int[] merged = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, merged, left.length, right.length);
+            return merged;
+        });
+
+        Map<Double, Integer> result = new LinkedHashMap<>();
+        if (selected.length == 0) {
+            return result;
+        }
+        Arrays.parallelSort(selected);
+        for (double p : percentiles) {
+            int rank = (int) Math.ceil(p / 100.0 * selected.length);
+            result.put(p, selected[Math.max(rank, 1) - 1]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return memberColumnStore.size();
+    }
+
+    // 시작 시 적재가 끝났는지. 끝나기 전의 통계는 일부 회원만 반영된 값
+    public boolean isReady() {
+        return memberColumnStore.isReady();
+    }
+
+    private static boolean matches(Long teamId, long memberTeamId) {
+        return teamId == null || teamId == memberTeamId;
+    }
+}
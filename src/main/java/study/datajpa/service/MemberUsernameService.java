@@ -0,0 +1,110 @@
+package study.datajpa.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import study.datajpa.entity.Member;
+import study.datajpa.index.UsernameFilter;
+import study.datajpa.index.UsernameIndex;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * username 조회 (가입 시 "이미 사용 중인 이름인가?" 체크 등)
+ *  - UsernameIndex가 켜져 있고 적재가 끝났으면 DB를 거치지 않고 메모리에서 바로 응답
+ *  - 아니면 기존처럼 DB 조회
+ *  - UsernameFilter(블룸 필터)가 켜져 있으면 확실히 없는 username은 DB 조회 없이 바로 빈 결과
+ */
+@Service
+public class MemberUsernameService {
+
+    private final MemberRepository memberRepository;
+    private final UsernameIndex usernameIndex;
+    private final UsernameFilter usernameFilter;
+
+    public MemberUsernameService(MemberRepository memberRepository,
+                                 ObjectProvider<UsernameIndex> usernameIndex,
+                                 ObjectProvider<UsernameFilter> usernameFilter) {
+        this.memberRepository = memberRepository;
+        this.usernameIndex = usernameIndex.getIfAvailable();
+        this.usernameFilter = usernameFilter.getIfAvailable();
+    }
+
+    public boolean isTaken(String username) {
+        if (indexReady()) {
+            return usernameIndex.exists(username);
+        }
+        if (filteredOut(username)) {
+            return false;
+        }
+        return checked(memberRepository.existsByUsername(username));
+    }
+
+    public long[] findIds(String username) {
+        if (indexReady()) {
+            return usernameIndex.findIds(username);
+        }
+        if (filteredOut(username)) {
+            return new long[0];
+        }
+        return checked(memberRepository.findListByUsername(username)).stream()
+                .mapToLong(member -> member.getId())
+                .toArray();
+    }
+
+    // MemberRepository.findOptionalByUsername 앞단
+    public Optional<Member> findOptionalByUsername(String username) {
+        if (filteredOut(username)) {
+            return Optional.empty();
+        }
+        Optional<Member> member = memberRepository.findOptionalByUsername(username);
+        if (member.isEmpty() && usernameFilter != null && usernameFilter.isReady()) {
+            usernameFilter.recordFalsePositive();
+        }
+        return member;
+    }
+
+    // MemberRepository.findByUser 앞단
+    public List<Member> findByUser(String username) {
+        if (filteredOut(username)) {
+            return Collections.emptyList();
+        }
+        return checked(memberRepository.findByUser(username));
+    }
+
+    public List<String> findUsernamesByPrefix(String prefix, int limit) {
+        if (indexReady()) {
+            return usernameIndex.findUsernamesByPrefix(prefix, limit);
+        }
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        return memberRepository.findUsernamesByPrefix(prefix, PageRequest.of(0, limit));
+    }
+
+    private boolean filteredOut(String username) {
+        return usernameFilter != null && usernameFilter.isReady() && !usernameFilter.mightExist(username);
+    }
+
+    // 필터를 통과했는데 결과가 비었으면 오탐으로 기록
+    private List<Member> checked(List<Member> members) {
+        if (members.isEmpty() && usernameFilter != null && usernameFilter.isReady()) {
+            usernameFilter.recordFalsePositive();
+        }
+        return members;
+    }
+
+    private boolean checked(boolean exists) {
+        if (!exists && usernameFilter != null && usernameFilter.isReady()) {
+            usernameFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    private boolean indexReady() {
+        return usernameIndex != null && usernameIndex.isReady();
+    }
+}
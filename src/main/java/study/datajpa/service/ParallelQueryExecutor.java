@@ -0,0 +1,100 @@
+package study.datajpa.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 서로 독립적인 리포지토리 쿼리를 동시에 실행하고 결과를 합침
+ *  - 예) Page 조회의 content 쿼리 + count 쿼리 -> 응답 시간이 두 쿼리의 합이 아니라 둘 중 느린 쪽
+ *  - 쿼리마다 별도 스레드, 별도 읽기 전용 트랜잭션(= 별도 커넥션)에서 실행
+ *  - datajpa.query.parallel.timeout(ms) 안에 모두 끝나지 않으면 기다리지 않고 바로 QueryTimeoutException
+ *    -> 이미 실행 중인 쿼리는 스레드 인터럽트로 멈추지 않음 (CompletableFuture.cancel은 워커를 인터럽트하지 않고, JDBC도 인터럽트에 반응하지 않음)
+ *    -> 대신 각 트랜잭션에 같은 타임아웃(초 단위, 올림)을 걸어서 JDBC Statement.setQueryTimeout 으로 DB에서 취소되게 함 (RouteGuard와 같은 방식)
+ *    -> 아직 스레드를 못 잡고 대기 중인 작업은 cancel로 실행 자체를 건너뜀
+ *
+ * 주의
+ *  - 트랜잭션이 분리되므로 반환된 엔티티는 준영속 상태 (필요한 연관관계는 페치 조인/EntityGraph로 미리 가져올 것)
+ *  - 커넥션이 다르면 DB 스냅샷도 다를 수 있다. page()는 마지막 페이지에서 content 개수로 total을 보정해서
+ *    content와 count가 서로 모순되지 않게 맞춘다.
+ */
+@Component
+public class ParallelQueryExecutor implements DisposableBean {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public ParallelQueryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${datajpa.query.parallel.threads:8}") int threads,
+                                 @Value("${datajpa.query.parallel.timeout:3000}") long timeoutMillis) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000)); // 트랜잭션/JDBC 타임아웃은 초 단위
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public <T> Page<T> page(Supplier<List<T>> contentQuery, LongSupplier countQuery, Pageable pageable) {
+        return both(contentQuery, countQuery::getAsLong, (content, count) -> {
+            long total = count;
+            // 마지막 페이지면 content 개수로 total을 확정 (count 쿼리와 스냅샷이 달라도 모순 없게)
+            if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+                total = pageable.getOffset() + content.size();
+            }
+            return new PageImpl<>(content, pageable, total);
+        });
+    }
+
+    public <A, B, R> R both(Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combiner) {
+        CompletableFuture<A> firstResult = submit(first);
+        CompletableFuture<B> secondResult = submit(second);
+        try {
+            CompletableFuture.allOf(firstResult, secondResult).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return combiner.apply(firstResult.join(), secondResult.join());
+        } catch (TimeoutException e) {
+            // 대기 중인 작업만 건너뜀. 실행 중인 쿼리는 트랜잭션 타임아웃으로 DB에서 취소됨
+            firstResult.cancel(true);
+            secondResult.cancel(true);
+            throw new QueryTimeoutException("parallel queries did not finish within " + timeoutMillis + "ms", e);
+        } catch (ExecutionException e) {
+            firstResult.cancel(true);
+            secondResult.cancel(true);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
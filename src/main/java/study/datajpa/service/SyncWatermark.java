@@ -0,0 +1,50 @@
+package study.datajpa.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 증분 동기화 워터마크
+ *  - 변경된 회원: 마지막으로 받은 (lastModifiedDate, memberId)
+ *  - 삭제된 회원: 마지막으로 받은 삭제 이벤트 id
+ *  - 문자열 형태: 2026-10-19T11:55:22.123_15_42 (URL에 그대로 넣을 수 있게 '_'로 구분)
+ *  - 형식이 틀리면 IllegalArgumentException
+ *  - 세 값 모두 줄어들지 않으므로 워터마크는 항상 단조 증가
+ */
+@Getter
+public class SyncWatermark {
+
+    public static final SyncWatermark INITIAL = new SyncWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, 0L);
+
+    private final LocalDateTime lastModifiedDate;
+    private final Long memberId;
+    private final Long deleteEventId;
+
+    public SyncWatermark(LocalDateTime lastModifiedDate, Long memberId, Long deleteEventId) {
+        this.lastModifiedDate = lastModifiedDate;
+        this.memberId = memberId;
+        this.deleteEventId = deleteEventId;
+    }
+
+    public static SyncWatermark parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return INITIAL;
+        }
+        String[] parts = value.split("_");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("invalid watermark: " + value);
+        }
+        try {
+            return new SyncWatermark(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("invalid watermark: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return lastModifiedDate + "_" + memberId + "_" + deleteEventId;
+    }
+}
@@ -0,0 +1,82 @@
+package study.datajpa.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.TeamJpaRepository;
+
+import java.util.List;
+
+/**
+ * 회원이 많은 팀 삭제
+ *  - 팀 소속 회원을 batchSize개씩 벌크 update(소속 해제) 또는 벌크 delete -> 회원 수만큼 엔티티를 조회/삭제하지 않음
+ *  - 배치마다 별도 트랜잭션이라 락을 오래 잡지 않고, 중간에 실패해도 처리된 배치까지는 반영됨 (다시 호출하면 이어서 진행)
+ *  - 마지막에 팀 자체는 em.remove로 삭제 (변경 이벤트, 2차 캐시는 하이버네이트가 처리)
+ *
+ * 주의
+ *  - 배치가 별도 트랜잭션에서 실행되므로 호출하는 쪽 영속성 컨텍스트에 이미 올라와 있는 팀/회원은 갱신되지 않음
+ *    (트랜잭션 밖에서 호출하거나, 호출 후 em.clear() 할 것)
+ */
+@Service
+public class TeamDeletionService {
+
+    public enum MemberHandling {
+        DETACH, // 회원은 남기고 팀만 null
+        DELETE  // 회원도 삭제
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void onBatch(long processed, long total);
+    }
+
+    private final TeamJpaRepository teamJpaRepository;
+    private final TransactionTemplate batchTransaction;
+    private final int defaultBatchSize;
+
+    public TeamDeletionService(TeamJpaRepository teamJpaRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${datajpa.team-deletion.batch-size:1000}") int defaultBatchSize) {
+        this.teamJpaRepository = teamJpaRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    public long deleteTeam(Long teamId, MemberHandling memberHandling) {
+        return deleteTeam(teamId, memberHandling, defaultBatchSize, (processed, total) -> { });
+    }
+
+    // 처리한 회원 수를 반환
+    public long deleteTeam(Long teamId, MemberHandling memberHandling, int batchSize, Progress progress) {
+        long total = batchTransaction.execute(status -> teamJpaRepository.countMembers(teamId));
+        long processed = 0;
+        while (true) {
+            Integer count = batchTransaction.execute(status -> {
+                // 처리된 회원은 팀에서 빠지므로 항상 맨 앞 batchSize개를 가져오면 됨
+                List<Long> ids = teamJpaRepository.findMemberIds(teamId, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                return memberHandling == MemberHandling.DELETE
+                        ? teamJpaRepository.deleteMembers(ids)
+                        : teamJpaRepository.detachMembers(ids);
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            processed += count;
+            progress.onBatch(processed, Math.max(total, processed)); // 도중에 추가된 회원이 있으면 total보다 많아질 수 있음
+        }
+        batchTransaction.executeWithoutResult(status -> {
+            Team team = teamJpaRepository.find(teamId);
+            if (team != null) {
+                teamJpaRepository.delete(team);
+            }
+        });
+        return processed;
+    }
+}
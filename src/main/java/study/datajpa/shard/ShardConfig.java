@@ -0,0 +1,79 @@
+package study.datajpa.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.datajpa.id.ConfigurableIdGenerator;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * datajpa.shard.count 를 지정하면 회원/팀 저장소를 N개의 샤드로 나눈다.
+ *  - 로컬에서 바로 테스트할 수 있도록 샤드마다 H2 인메모리 DB를 하나씩 띄움 (datajpa.shard.url-pattern 으로 변경 가능)
+ *  - DataSource 빈을 직접 등록하므로 spring.datasource 설정(DataSourceAutoConfiguration)은 사용되지 않음
+ *  - 샤드 번호를 시퀀스 값 상위 비트에 담으므로 시간순 id(datajpa.id.strategy=time-ordered)와는 같이 쓸 수 없음
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datajpa.shard", name = "count")
+public class ShardConfig {
+
+    @Value("${datajpa.shard.count}")
+    private int shardCount;
+
+    @Value("${datajpa.shard.url-pattern:jdbc:h2:mem:shard%d;DB_CLOSE_DELAY=-1}")
+    private String urlPattern;
+
+    @Value("${" + ConfigurableIdGenerator.STRATEGY + ":" + ConfigurableIdGenerator.SEQUENCE + "}")
+    private String idStrategy;
+
+    @Bean
+    public Map<Integer, DataSource> shardDataSources() {
+        if (!ConfigurableIdGenerator.SEQUENCE.equals(idStrategy)) {
+            throw new IllegalStateException("샤딩은 시퀀스 기반 id에서만 동작합니다: " + ConfigurableIdGenerator.STRATEGY + "=" + idStrategy);
+        }
+        Map<Integer, DataSource> shards = new LinkedHashMap<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.put(i, DataSourceBuilder.create()
+                    .url(String.format(urlPattern, i))
+                    .username("sa")
+                    .password("")
+                    .build());
+        }
+        return shards;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(Map<Integer, DataSource> shardDataSources) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(new HashMap<>(shardDataSources));
+        routing.setDefaultTargetDataSource(shardDataSources.get(0));
+        routing.setLenientFallback(false); // 없는 샤드 번호로 접근하면 기본 샤드로 빠지지 않고 예외
+        return routing;
+    }
+
+    // EntityManagerFactory가 0번 샤드에 스키마를 만든 뒤에 나머지 샤드로 복제
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(Map<Integer, DataSource> shardDataSources,
+                                                         EntityManagerFactory entityManagerFactory) {
+        return new ShardSchemaInitializer(shardDataSources);
+    }
+
+    @Bean
+    public ShardedMemberRepository shardedMemberRepository(ShardSchemaInitializer shardSchemaInitializer,
+                                                           MemberRepository memberRepository,
+                                                           TeamRepository teamRepository,
+                                                           PlatformTransactionManager transactionManager) {
+        return new ShardedMemberRepository(shardCount, memberRepository, teamRepository, transactionManager);
+    }
+}
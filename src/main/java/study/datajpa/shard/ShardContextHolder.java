@@ -0,0 +1,30 @@
+package study.datajpa.shard;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호를 보관
+ *  - ShardRoutingDataSource가 커넥션을 얻을 때 이 값을 보고 실제 DataSource를 고른다.
+ *  - 커넥션은 트랜잭션 시작 시점에 잡히므로 반드시 트랜잭션 시작 전에 세팅해야 함
+ */
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    public static Integer get() {
+        return CURRENT.get();
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.shard;
+
+/**
+ * 샤드 인식 식별자
+ *  - 샤드마다 시퀀스 시작값을 (샤드번호 << SHARD_BITS) + 1 로 잡아서 샤드 간 id가 겹치지 않게 함
+ *  - 덕분에 id만 보고 어느 샤드에 있는지 바로 계산 가능 (팀 id -> 팀 소속 회원이 저장된 샤드)
+ *  - 시퀀스 값 자체를 나누는 방식이라 pooled-lo 옵티마이저와 같이 써도 문제 없음 (옵티마이저는 샤드별로 따로 둠, ConfigurableIdGenerator)
+ */
+public final class ShardIds {
+
+    public static final int SHARD_BITS = 40;
+
+    private ShardIds() {
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SHARD_BITS);
+    }
+
+    public static long firstIdOf(int shard) {
+        return ((long) shard << SHARD_BITS) + 1;
+    }
+}
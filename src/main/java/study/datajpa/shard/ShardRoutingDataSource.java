@@ -0,0 +1,15 @@
+package study.datajpa.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContextHolder의 샤드 번호로 실제 DataSource를 선택
+ *  - 샤드 번호가 없으면 기본(0번) 샤드 -> 애플리케이션 로딩 시점의 스키마 생성 등
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContextHolder.get();
+    }
+}
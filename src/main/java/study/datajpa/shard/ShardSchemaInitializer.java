@@ -0,0 +1,71 @@
+package study.datajpa.shard;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하이버네이트 ddl-auto는 기본 샤드(0번)에만 스키마를 만든다.
+ * 0번 샤드의 스키마를 H2 SCRIPT NODATA로 뽑아서 나머지 샤드에 그대로 생성하고,
+ * 샤드마다 시퀀스 시작값을 ShardIds.firstIdOf(샤드번호)로 다시 잡아준다.
+ *
+ * EntityManagerFactory 생성(=스키마 생성) 이후에 실행되어야 하므로 ShardConfig에서 EntityManagerFactory에 의존하게 등록
+ */
+public class ShardSchemaInitializer {
+
+    private final Map<Integer, DataSource> shards;
+
+    public ShardSchemaInitializer(Map<Integer, DataSource> shards) {
+        this.shards = shards;
+    }
+
+    @PostConstruct
+    public void init() throws SQLException {
+        List<String> ddl = exportSchema(shards.get(0));
+        for (Map.Entry<Integer, DataSource> shard : shards.entrySet()) {
+            try (Connection connection = shard.getValue().getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (shard.getKey() != 0) {
+                    for (String sql : ddl) {
+                        statement.execute(sql);
+                    }
+                }
+                restartSequences(statement, ShardIds.firstIdOf(shard.getKey()));
+            }
+        }
+    }
+
+    private List<String> exportSchema(DataSource source) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Connection connection = source.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT NODATA")) {
+            while (rs.next()) {
+                String sql = rs.getString(1);
+                if (!sql.startsWith("--")) { // 주석(row count 등)은 제외
+                    ddl.add(sql);
+                }
+            }
+        }
+        return ddl;
+    }
+
+    private void restartSequences(Statement statement, long startWith) throws SQLException {
+        List<String> sequences = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(
+                "select sequence_name from information_schema.sequences where sequence_schema = 'PUBLIC'")) {
+            while (rs.next()) {
+                sequences.add(rs.getString(1));
+            }
+        }
+        for (String sequence : sequences) {
+            statement.execute("alter sequence \"" + sequence + "\" restart with " + startWith);
+        }
+    }
+}
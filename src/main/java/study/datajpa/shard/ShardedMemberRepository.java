@@ -0,0 +1,151 @@
+package study.datajpa.shard;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 샤드 라우팅 리포지토리
+ *
+ * 라우팅 규칙
+ *  - 팀: 이름 해시로 샤드 결정. 팀 id에 샤드 번호가 들어가므로 이후로는 id만으로 샤드를 찾음 (ShardIds)
+ *  - 회원: 소속 팀과 같은 샤드 (팀이 없으면 username 해시). 회원 id 역시 샤드 번호를 포함
+ *  - 여러 샤드에 걸친 조회(findAll(Pageable), findByNames)는 모든 샤드에 나눠서 조회한 뒤 병합(scatter-gather)
+ *
+ * 주의
+ *  - 샤드마다 별도 트랜잭션(REQUIRES_NEW)으로 실행되므로 반환된 엔티티는 준영속 상태다. (지연로딩 연관관계 접근 불가)
+ *  - 샤드를 넘나드는 트랜잭션(분산 트랜잭션)은 지원하지 않음
+ */
+public class ShardedMemberRepository {
+
+    private final int shardCount;
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardedMemberRepository(int shardCount, MemberRepository memberRepository, TeamRepository teamRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.shardCount = shardCount;
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Team saveTeam(Team team) {
+        int shard = team.getId() != null ? ShardIds.shardOf(team.getId()) : shardOfKey(team.getName());
+        return onShard(shard, () -> teamRepository.save(team));
+    }
+
+    public Member save(Member member) {
+        return onShard(shardOf(member), () -> memberRepository.save(member));
+    }
+
+    public void delete(Member member) {
+        onShard(ShardIds.shardOf(member.getId()), () -> {
+            memberRepository.deleteById(member.getId());
+            return null;
+        });
+    }
+
+    public Optional<Member> findById(Long id) {
+        return onShard(ShardIds.shardOf(id), () -> memberRepository.findById(id));
+    }
+
+    public Optional<Team> findTeamById(Long id) {
+        return onShard(ShardIds.shardOf(id), () -> teamRepository.findById(id));
+    }
+
+    public List<Member> findByNames(List<String> names) {
+        List<Member> result = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            result.addAll(onShard(shard, () -> memberRepository.findByNames(names)));
+        }
+        result.sort(Comparator.comparing(Member::getId));
+        return result;
+    }
+
+    /**
+     * 샤드마다 (offset + size) 만큼 같은 정렬로 조회 -> 병합 정렬 -> offset 만큼 건너뛰고 size 만큼 자름
+     * 전체 개수는 샤드별 count의 합
+     */
+    public Page<Member> findAll(Pageable pageable) {
+        Sort sort = pageable.getSort().and(Sort.by("id")); // 샤드 간 병합 결과가 항상 같도록 id로 동률 정리
+        int limit = (int) pageable.getOffset() + pageable.getPageSize();
+
+        List<Member> merged = new ArrayList<>();
+        long total = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            merged.addAll(onShard(shard, () -> memberRepository.findAll(PageRequest.of(0, limit, sort)).getContent()));
+            total += onShard(shard, memberRepository::count);
+        }
+        merged.sort(comparatorOf(sort)); // 샤드별로 이미 정렬된 구간들이라 TimSort가 병합만 수행
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(limit, merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    private int shardOf(Member member) {
+        if (member.getId() != null) {
+            return ShardIds.shardOf(member.getId());
+        }
+        if (member.getTeam() != null) {
+            return ShardIds.shardOf(member.getTeam().getId());
+        }
+        return shardOfKey(member.getUsername());
+    }
+
+    private int shardOfKey(String key) {
+        return Math.floorMod(key == null ? 0 : key.hashCode(), shardCount);
+    }
+
+    private <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContextHolder.get();
+        ShardContextHolder.set(shard);
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            ShardContextHolder.set(previous);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Member> comparatorOf(Sort sort) {
+        Comparator<Member> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Member> byProperty = (a, b) -> {
+                Comparable left = (Comparable) new BeanWrapperImpl(a).getPropertyValue(order.getProperty());
+                Comparable right = (Comparable) new BeanWrapperImpl(b).getPropertyValue(order.getProperty());
+                if (left == right) {
+                    return 0;
+                }
+                if (left == null) {
+                    return -1;
+                }
+                if (right == null) {
+                    return 1;
+                }
+                return left.compareTo(right);
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,259 @@
+package study.datajpa.stats;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.event.EntityChangedEvent;
+import study.datajpa.repository.MemberAgeRow;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 통계용 인메모리 컬럼 저장소 (member_id, age, team_id 를 기본형 배열로)
+ *  - 행(엔티티) 대신 컬럼별 배열 -> 집계할 때 필요한 컬럼만 연속된 메모리로 훑음 (객체/박싱 없음, 회원 100만 명이면 20MB)
+ *  - 시작 시 한 번 적재하고, 이후엔 커밋된 EntityChangedEvent로 갱신 (MemberSearchIndex와 같은 방식) -> 통계 조회는 DB를 건드리지 않음
+ *  - 삭제는 마지막 행을 빈자리로 옮겨서 배열을 항상 꽉 채워둠 (순서는 의미 없음)
+ *  - aggregate(): 구간을 나눠서 ForkJoinPool로 병렬 집계 후 합침 (읽기 락)
+ *  - 변경 이벤트는 커밋하는 요청 스레드에서 오므로 락을 기다리지 않음: 큐에 넣고 쓰기 락이 바로 잡힐 때만 반영
+ *    -> 무거운 집계가 돌고 있어도 커밋은 막히지 않고, 밀린 변경은 다음 변경이나 다음 조회 시작 때 반영
+ *  - 조회(size, aggregate)끼리는 읽기 락만 잡아서 서로 막지 않음. 대신 집계가 겹치면 밀린 변경이 빠진 채로 읽을 수 있음
+ *  - 적재가 끝나기 전(isReady() == false)에는 일부만 들어있음 -> MemberStatsController는 503으로 응답
+ */
+@Component
+public class MemberColumnStore {
+
+    public static final long NO_TEAM = 0L;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SPLIT_THRESHOLD = 1 << 14;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private long[] teamIds = new long[INITIAL_CAPACITY];
+    private int size;
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    // 구간 [from, to) 를 집계하는 함수. 배열은 읽기만 할 것
+    @FunctionalInterface
+    public interface RangeAggregator<R> {
+        R apply(long[] ids, int[] ages, long[] teamIds, int from, int to);
+    }
+
+    public MemberColumnStore(MemberRepository memberRepository, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberAgeRow> rows = memberRepository.streamAgeRows()) {
+                rows.filter(row -> !changedWhileLoading.contains(row.getId()))
+                        .forEach(row -> {
+                            lock.writeLock().lock();
+                            try {
+                                upsert(row.getId(), row.getAge(), row.getTeamId() == null ? NO_TEAM : row.getTeamId());
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                        });
+            }
+        });
+        changedWhileLoading.clear();
+        ready = true;
+    }
+
+    @EventListener
+    public void onChange(EntityChangedEvent event) {
+        if (!event.isMember()) {
+            return;
+        }
+        Long id = event.getAggregateId();
+        if (!ready) {
+            changedWhileLoading.add(id);
+        }
+        if (event.getOperation() == ChangeOperation.DELETE) {
+            remove(id);
+        } else {
+            Object age = event.getState().get("age");
+            Object team = event.getState().get("team");
+            put(id, age == null ? 0 : ((Number) age).intValue(), team == null ? null : ((Number) team).longValue());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lockForRead();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <R> R aggregate(RangeAggregator<R> aggregator, BinaryOperator<R> merger) {
+        lockForRead();
+        try {
+            return ForkJoinPool.commonPool().invoke(new AggregateTask<>(aggregator, merger, 0, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 읽기 락을 잡음. 밀린 변경이 있고 쓰기 락이 바로 잡힐 때만 반영한 뒤 읽기 락으로 내림
+    // -> 다른 집계가 돌고 있으면 기다리지 않고 밀린 변경 없이 읽음 (방금 커밋된 변경이 빠진 약간 오래된 결과, 다음 변경/조회 때 반영)
+    private void lockForRead() {
+        if (!pending.isEmpty() && lock.writeLock().tryLock()) {
+            try {
+                applyPending();
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            lock.readLock().lock();
+        }
+    }
+
+    void put(long id, int age, Long teamId) {
+        enqueue(new Change(id, age, teamId == null ? NO_TEAM : teamId, false));
+    }
+
+    void remove(long id) {
+        enqueue(new Change(id, 0, NO_TEAM, true));
+    }
+
+    // 기다리지 않음: 집계(읽기 락) 중이면 큐에만 넣고 돌아감
+    private void enqueue(Change change) {
+        pending.add(change);
+        if (lock.writeLock().tryLock()) {
+            try {
+                applyPending();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // 쓰기 락을 잡은 상태에서만 호출
+    private void applyPending() {
+        Change change;
+        while ((change = pending.poll()) != null) {
+            if (change.delete) {
+                delete(change.id);
+            } else {
+                upsert(change.id, change.age, change.teamId);
+            }
+        }
+    }
+
+    private void upsert(long id, int age, long teamId) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slots.put(id, slot);
+            ids[slot] = id;
+        }
+        ages[slot] = age;
+        teamIds[slot] = teamId;
+    }
+
+    private void delete(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            ages[slot] = ages[last];
+            teamIds[slot] = teamIds[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        ages = Arrays.copyOf(ages, newCapacity);
+        teamIds = Arrays.copyOf(teamIds, newCapacity);
+    }
+
+    private static final class Change {
+
+        private final long id;
+        private final int age;
+        private final long teamId;
+        private final boolean delete;
+
+        private Change(long id, int age, long teamId, boolean delete) {
+            this.id = id;
+            this.age = age;
+            this.teamId = teamId;
+            this.delete = delete;
+        }
+    }
+
+    // 구간이 작아질 때까지 반으로 나눠서 병렬 집계 (배열 참조는 생성 시점에 고정)
+    private class AggregateTask<R> extends RecursiveTask<R> {
+
+        private final RangeAggregator<R> aggregator;
+        private final BinaryOperator<R> merger;
+        private final long[] ids = MemberColumnStore.this.ids;
+        private final int[] ages = MemberColumnStore.this.ages;
+        private final long[] teamIds = MemberColumnStore.this.teamIds;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(RangeAggregator<R> aggregator, BinaryOperator<R> merger, int from, int to) {
+            this.aggregator = aggregator;
+            this.merger = merger;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return aggregator.apply(ids, ages, teamIds, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask<R> left = new AggregateTask<>(aggregator, merger, from, mid);
+            AggregateTask<R> right = new AggregateTask<>(aggregator, merger, mid, to);
+            left.fork();
+            R rightResult = right.compute();
+            return merger.apply(left.join(), rightResult);
+        }
+    }
+}
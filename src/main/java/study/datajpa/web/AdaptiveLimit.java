@@ -0,0 +1,60 @@
+package study.datajpa.web;
+
+/**
+ * 관측한 지연 시간으로 동시 실행 수 상한을 조절하는 AIMD 리미터 (TCP 혼잡 제어와 같은 방식)
+ *  - 목표 지연 안에 끝나면 상한을 조금씩 올림 (+1/limit -> 상한만큼 성공하면 대략 +1)
+ *  - 목표 지연을 넘기거나 타임아웃이면 상한을 곱으로 줄임 (x backoff)
+ *    -> 단, 목표 지연 한 구간에 한 번만. 같은 느려짐을 겪은 요청들이 한꺼번에 끝나도 한 번의 신호로 봄
+ *       (안 그러면 동시에 느려진 요청 수만큼 연달아 곱해져서 상한이 바로 최소값까지 떨어짐)
+ *  - 상한 이상 실행 중이면 새 요청은 바로 거절 (대기열 없음 -> DB가 느려질수록 더 빨리 덜어냄)
+ */
+class AdaptiveLimit {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos; // 첫 번째 감소는 바로 허용
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // dropped: 타임아웃 등 DB 과부하로 실패한 경우
+    synchronized void release(long latencyNanos, boolean dropped) {
+        inFlight--;
+        if (dropped || latencyNanos > targetLatencyNanos) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                lastDecreaseNanos = now;
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,165 @@
+package study.datajpa.web;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 컨트롤러 라우트별 보호막 (요청 하나가 DB를 독차지해서 다른 요청까지 굶기는 것 방지)
+ *
+ *  1) 비용 기반 거절 (400): 읽어야 할 행 수(offset + size)에, 인덱스가 없는 컬럼으로 정렬하면 penalty를 곱해서 max-cost를 넘으면 실행 전에 거절
+ *     (인덱스가 있는 정렬인지는 SortableFields 빈(SortConfig)으로 판단. 허용 키 하나로 만든 정렬만 인덱스 정렬)
+ *     ex) size=2000, createdBy 정렬 -> 2000 x 10 = 20000 > 10000
+ *  2) 동시 실행 제한 (503): 라우트마다 AdaptiveLimit. DB 지연이 target-latency를 넘기 시작하면 상한이 줄어서 초과분은 바로 거절
+ *  3) 쿼리 타임아웃: query-timeout 을 타임아웃으로 둔 읽기 전용 트랜잭션 안에서 실행
+ *     -> 스프링이 남은 시간을 쿼리마다 javax.persistence.query.timeout 으로 넘기고, 하이버네이트가 JDBC Statement.setQueryTimeout 으로 전달
+ *     -> 시간을 넘기면 DB에서 쿼리가 취소되고 503
+ *     -> callParallel()은 1), 2)만 적용 (쿼리 쪽이 직접 타임아웃을 거는 경우. QueryTimeoutException이면 똑같이 503)
+ *
+ * 메트릭
+ *  - datajpa.route.requests (Counter): 태그 route, outcome (served / too_expensive / shed / timeout / error)
+ *  - datajpa.route.limit, datajpa.route.in-flight (Gauge): 라우트별 현재 동시 실행 상한, 실행 중인 수
+ *
+ * 설정: datajpa.route-guard.* (아래 생성자 기본값 참고)
+ */
+@Component
+public class RouteGuard {
+
+    public static final String REQUESTS = "datajpa.route.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate timedTransaction;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final long maxCost;
+    private final int unindexedSortPenalty;
+    private final List<SortableFields> sortableFields; // 인덱스를 타는 정렬 = 어느 엔드포인트의 정렬 허용 키로 만들 수 있는 정렬 (SortConfig)
+
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    public RouteGuard(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+                      @Value("${datajpa.route-guard.query-timeout:3s}") Duration queryTimeout,
+                      @Value("${datajpa.route-guard.initial-limit:20}") int initialLimit,
+                      @Value("${datajpa.route-guard.min-limit:1}") int minLimit,
+                      @Value("${datajpa.route-guard.max-limit:100}") int maxLimit,
+                      @Value("${datajpa.route-guard.target-latency:200ms}") Duration targetLatency,
+                      @Value("${datajpa.route-guard.max-cost:10000}") long maxCost,
+                      @Value("${datajpa.route-guard.unindexed-sort-penalty:10}") int unindexedSortPenalty,
+                      List<SortableFields> sortableFields) {
+        this.meterRegistry = meterRegistry;
+        this.timedTransaction = new TransactionTemplate(transactionManager);
+        this.timedTransaction.setReadOnly(true);
+        this.timedTransaction.setTimeout((int) Math.max(1, (queryTimeout.toMillis() + 999) / 1000)); // 트랜잭션/JDBC 타임아웃은 초 단위
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.maxCost = maxCost;
+        this.unindexedSortPenalty = unindexedSortPenalty;
+        this.sortableFields = sortableFields;
+    }
+
+    public <T> T call(String route, Supplier<T> query) {
+        return call(route, Pageable.unpaged(), query);
+    }
+
+    public <T> T call(String route, Pageable pageable, Supplier<T> query) {
+        return guard(route, pageable, () -> timedTransaction.execute(status -> query.get()));
+    }
+
+    // 쿼리가 자기 스레드/트랜잭션에 타임아웃을 직접 거는 경우 (ParallelQueryExecutor)
+    // 비용 검사와 동시 실행 제한만 하고 트랜잭션은 열지 않음 (요청 스레드가 쓰지도 않을 커넥션을 잡고 있지 않게)
+    public <T> T callParallel(String route, Pageable pageable, Supplier<T> query) {
+        return guard(route, pageable, query);
+    }
+
+    private <T> T guard(String route, Pageable pageable, Supplier<T> query) {
+        long cost = costOf(pageable);
+        if (cost > maxCost) {
+            count(route, "too_expensive");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "요청 비용이 너무 큽니다 (cost=" + cost + ", max=" + maxCost + "). size를 줄이거나 허용된 정렬 키 하나로 정렬하세요: " + sortKeys());
+        }
+        AdaptiveLimit limit = limitOf(route);
+        if (!limit.tryAcquire()) {
+            count(route, "shed");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도하세요");
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            T result = query.get();
+            count(route, "served");
+            return result;
+        } catch (QueryTimeoutException | TransactionTimedOutException e) {
+            dropped = true;
+            count(route, "timeout");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "쿼리 시간 초과", e);
+        } catch (RuntimeException e) {
+            count(route, "error");
+            throw e;
+        } finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    // 읽어야 할 행 수 x (인덱스 없는 정렬이면 penalty). 페이징이 없으면 0 (라우트가 따로 건수를 제한함)
+    long costOf(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return 0;
+        }
+        long rows = pageable.getOffset() + pageable.getPageSize();
+        if (pageable.getSort().isUnsorted()) {
+            return rows;
+        }
+        for (SortableFields fields : sortableFields) {
+            if (fields.isIndexed(pageable.getSort())) {
+                return rows;
+            }
+        }
+        return rows * unindexedSortPenalty;
+    }
+
+    private Set<String> sortKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (SortableFields fields : sortableFields) {
+            fields.getKeys().forEach(keys::add);
+        }
+        return keys;
+    }
+
+    public int getLimit(String route) {
+        return limitOf(route).getLimit();
+    }
+
+    private AdaptiveLimit limitOf(String route) {
+        return limits.computeIfAbsent(route, key -> {
+            AdaptiveLimit limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, targetLatencyNanos);
+            Gauge.builder("datajpa.route.limit", limit, AdaptiveLimit::getLimit).tag("route", key).register(meterRegistry);
+            Gauge.builder("datajpa.route.in-flight", limit, AdaptiveLimit::getInFlight).tag("route", key).register(meterRegistry);
+            return limit;
+        });
+    }
+
+    private void count(String route, String outcome) {
+        meterRegistry.counter(REQUESTS, "route", route, "outcome", outcome).increment();
+    }
+}
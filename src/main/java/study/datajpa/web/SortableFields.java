@@ -0,0 +1,118 @@
+package study.datajpa.web;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엔드포인트별로 허용하는 정렬 키 목록 (sort= 파라미터 화이트리스트)
+ *  - Pageable은 아무 프로퍼티로나 정렬을 받아주므로 createdBy 처럼 인덱스가 없는 컬럼으로 정렬하면 테이블 전체를 정렬(filesort)하게 됨
+ *  - 허용한 키만 받고, 키마다 인덱스를 그대로 탈 수 있는 정렬로 바꿔줌. 그 외의 키는 400
+ *  - 키는 요청당 하나만 (sort=username&sort=age 처럼 이어 붙이면 (username, age) 인덱스가 없으므로 400)
+ *    -> 여러 컬럼 정렬이 필요하면 그 순서의 인덱스를 만들고 allow(key, 프로퍼티...)로 키 하나로 등록
+ *  - 마지막에 tieBreaker(id)를 같은 방향으로 붙여서 같은 값이 많아도 페이지끼리 겹치거나 빠지지 않게 함
+ *    (인덱스도 (컬럼, id) 복합 인덱스로 만들어서 desc 정렬이면 인덱스를 거꾸로 읽음)
+ *
+ * 사용 예)
+ *  SortableFields.tieBreaker("id").allow("username").allow("recent", "lastModifiedDate").build();
+ *  Pageable safe = sortableFields.resolve(pageable);
+ */
+public final class SortableFields {
+
+    private final Map<String, List<String>> keys;
+    private final String tieBreaker;
+
+    private SortableFields(Map<String, List<String>> keys, String tieBreaker) {
+        this.keys = keys;
+        this.tieBreaker = tieBreaker;
+    }
+
+    public static Builder tieBreaker(String property) {
+        return new Builder(property);
+    }
+
+    // 허용 안 된 키거나 키가 둘 이상이면 400, 정렬이 없으면 tieBreaker 오름차순
+    public Pageable resolve(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        if (pageable.getSort().stream().count() > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "정렬 키는 하나만 지정할 수 있습니다: " + pageable.getSort() + " (가능: " + keys.keySet() + ")");
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        Sort.Direction lastDirection = Sort.Direction.ASC;
+        for (Sort.Order order : pageable.getSort()) {
+            List<String> properties = keys.get(order.getProperty());
+            if (properties == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "정렬할 수 없는 키입니다: " + order.getProperty() + " (가능: " + keys.keySet() + ")");
+            }
+            for (String property : properties) {
+                orders.add(new Sort.Order(order.getDirection(), property));
+            }
+            lastDirection = order.getDirection();
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(tieBreaker))) {
+            orders.add(new Sort.Order(lastDirection, tieBreaker));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    // resolve()가 만들 수 있는 정렬인지 = 등록된 인덱스를 그대로 타는 정렬인지 (RouteGuard 비용 계산용)
+    //  - 키 하나의 프로퍼티들 (+ 끝에 tieBreaker), 방향은 모두 같아야 함. 정렬이 없으면 true
+    public boolean isIndexed(Sort sort) {
+        List<String> properties = new ArrayList<>();
+        Sort.Direction direction = null;
+        for (Sort.Order order : sort) {
+            if (direction != null && direction != order.getDirection()) {
+                return false;
+            }
+            direction = order.getDirection();
+            properties.add(order.getProperty());
+        }
+        if (!properties.isEmpty() && properties.get(properties.size() - 1).equals(tieBreaker)) {
+            properties.remove(properties.size() - 1);
+        }
+        return properties.isEmpty() || keys.containsValue(properties);
+    }
+
+    public Iterable<String> getKeys() {
+        return keys.keySet();
+    }
+
+    public static class Builder {
+
+        private final String tieBreaker;
+        private final Map<String, List<String>> keys = new LinkedHashMap<>();
+
+        private Builder(String tieBreaker) {
+            this.tieBreaker = tieBreaker;
+            keys.put(tieBreaker, Collections.singletonList(tieBreaker));
+        }
+
+        // 키 이름 = 프로퍼티 이름
+        public Builder allow(String key) {
+            return allow(key, key);
+        }
+
+        // 키 하나를 여러 프로퍼티 정렬로 (인덱스 컬럼 순서대로)
+        public Builder allow(String key, String... properties) {
+            keys.put(key, Collections.unmodifiableList(Arrays.asList(properties)));
+            return this;
+        }
+
+        public SortableFields build() {
+            return new SortableFields(Collections.unmodifiableMap(new LinkedHashMap<>(keys)), tieBreaker);
+        }
+    }
+}
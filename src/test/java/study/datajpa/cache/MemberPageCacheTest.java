@@ -0,0 +1,89 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 무효화는 커밋된 변경으로만 일어나므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest
+class MemberPageCacheTest {
+
+    @Autowired MemberPageCache memberPageCache;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void coalesceAndStaleWhileRevalidate() throws Exception {
+        // given: 로딩이 느린 캐시
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingCache<String, Integer> cache = new RefreshingCache<>(10, Duration.ofMillis(50), Duration.ofMinutes(1), Runnable::run);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when: 8개 요청이 동시에 미스
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> cache.get("page0", key -> {
+                await(release);
+                return loads.incrementAndGet();
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // then: DB 조회는 한 번, 모두 같은 결과
+        for (Future<Integer> future : futures) {
+            assertThat(future.get()).isEqualTo(1);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        executor.shutdown();
+
+        // when: refreshAfter가 지나면 이전 값을 돌려주면서 다시 조회
+        Thread.sleep(60);
+        assertThat(cache.get("page0", key -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("page0", key -> loads.incrementAndGet())).isEqualTo(2);
+        assertThat(cache.staleHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateOnMemberChange() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("username"));
+        Page<MemberDto> first = memberPageCache.findPage(pageRequest);
+        assertThat(memberPageCache.findPage(pageRequest)).isSameAs(first);
+
+        // when: 회원 저장 커밋 -> 무효화
+        Member member = memberRepository.save(new Member("!pageCacheMember", 10));
+
+        // then: 정렬상 맨 앞에 오는 회원이 바로 보임
+        Page<MemberDto> second = memberPageCache.findPage(pageRequest);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getContent()).extracting("username").contains("!pageCacheMember");
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.ConversionService;
+import study.datajpa.dto.MemberView;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 무효화는 커밋된 변경으로만 일어나므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest
+class MemberViewCacheTest {
+
+    @Autowired MemberViewCache memberViewCache;
+    @Autowired MemberRepository memberRepository;
+    @Autowired ConversionService mvcConversionService;
+
+    @Test
+    void cacheAndInvalidate() {
+        // given
+        Member member = memberRepository.save(new Member("viewMemberA", 10));
+        long misses = memberViewCache.getCache().missCount();
+
+        // when: 두 번째부터는 캐시에서
+        MemberView first = mvcConversionService.convert(String.valueOf(member.getId()), MemberView.class);
+        MemberView second = memberViewCache.get(member.getId());
+
+        // then
+        assertThat(first.getUsername()).isEqualTo("viewMemberA");
+        assertThat(second).isSameAs(first);
+        assertThat(memberViewCache.getCache().missCount()).isEqualTo(misses + 1);
+
+        // when: 수정 커밋 -> 무효화
+        member.setUsername("viewMemberB");
+        memberRepository.save(member);
+
+        // then
+        assertThat(memberViewCache.get(member.getId()).getUsername()).isEqualTo("viewMemberB");
+
+        memberRepository.deleteById(member.getId());
+        assertThat(memberViewCache.get(member.getId())).isNull();
+    }
+}
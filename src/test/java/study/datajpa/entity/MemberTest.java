@@ -1,5 +1,8 @@
 package study.datajpa.entity;
 
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
@@ -9,6 +12,9 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
@@ -50,5 +56,60 @@ class MemberTest {
             System.out.println("-> member.team  = " + member.getTeam());
         }
     }
-    
+
+    // 바이트코드 향상 전/후 flush 시간 비교용 (./gradlew test vs ./gradlew test -PdisableEnhancement)
+    // 향상 전: 영속성 컨텍스트의 모든 엔티티를 스냅샷과 필드 단위로 비교
+    // 향상 후: 엔티티가 직접 추적한 변경 필드만 확인
+    @Test
+    @Rollback
+    void dirtyCheckingFlush() {
+        // given
+        Team team = new Team("team");
+        em.persist(team);
+        for (int i = 0; i < 5000; i++) {
+            em.persist(new Member("member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        List<Member> members = em.createQuery("select m from Member m where m.team = :team", Member.class)
+                .setParameter("team", team)
+                .getResultList();
+        for (int i = 0; i < 10; i++) {
+            members.get(i).setAge(-1);
+        }
+
+        // 향상된 엔티티인지, 바꾼 10명만 변경 필드를 기록했는지 (-PdisableEnhancement 로 돌릴 때는 건너뜀)
+        if (!"false".equals(System.getProperty("datajpa.enhancement"))) {
+            assertThat(members.get(0)).isInstanceOf(SelfDirtinessTracker.class);
+            for (int i = 0; i < members.size(); i++) {
+                SelfDirtinessTracker tracker = (SelfDirtinessTracker) members.get(i);
+                if (i < 10) {
+                    assertThat(tracker.$$_hibernate_hasDirtyAttributes()).isTrue();
+                    assertThat(tracker.$$_hibernate_getDirtyAttributes()).containsExactly("age");
+                } else {
+                    assertThat(tracker.$$_hibernate_hasDirtyAttributes()).isFalse();
+                    assertThat(tracker.$$_hibernate_getDirtyAttributes()).isEmpty();
+                }
+            }
+        }
+        AtomicLong statements = new AtomicLong();
+        em.unwrap(Session.class).addEventListeners(new BaseSessionEventListener() {
+            @Override
+            public void jdbcPrepareStatementEnd() {
+                statements.incrementAndGet();
+            }
+        });
+
+        // when
+        long start = System.nanoTime();
+        em.flush();
+        long elapsed = System.nanoTime() - start;
+
+        //then: 5000명이 관리 중이어도 바뀐 10명만 update
+        System.out.println("managed = " + members.size() + ", flush(ms) = " + elapsed / 1_000_000.0);
+        assertThat(members).hasSize(5000);
+        assertThat(statements.get()).isEqualTo(10);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package study.datajpa.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import study.datajpa.entity.ChangeOperation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeEventMulticasterTest {
+
+    @Test
+    void failingListenerDoesNotStopOthers() {
+        // given: 앞의 리스너가 예외를 던짐
+        ChangeEventMulticaster multicaster = new ChangeEventMulticaster();
+        List<Object> received = new ArrayList<>();
+        multicaster.addApplicationListener((ApplicationListener<PayloadApplicationEvent<?>>) event -> {
+            throw new IllegalStateException("broken listener");
+        });
+        multicaster.addApplicationListener((ApplicationListener<PayloadApplicationEvent<?>>) event -> received.add(event.getPayload()));
+
+        // when
+        EntityChangedEvent change = new EntityChangedEvent("Member", 1L, ChangeOperation.UPDATE, Collections.emptyMap());
+        multicaster.multicastEvent(new PayloadApplicationEvent<>(this, change));
+
+        // then: 예외는 로그로만 남고 뒤의 리스너도 받음
+        assertThat(received).containsExactly(change);
+
+        // 다른 이벤트는 기존대로 예외 전파
+        assertThatThrownBy(() -> multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "other")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
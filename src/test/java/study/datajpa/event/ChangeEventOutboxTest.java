@@ -0,0 +1,68 @@
+package study.datajpa.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.ChangeEvent;
+import study.datajpa.entity.ChangeOperation;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.ChangeEventRepository;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 아웃박스는 커밋 시점에 기록되므로 테스트 트랜잭션(@Transactional) 없이 실제로 커밋시키면서 확인
+// 발행 결과는 메모리 sink로 확인
+// relay는 이 테스트에서만 켜고(다른 테스트 컨텍스트는 꺼져 있음), 주기 발행이 테스트 도중에 끼어들지 않게 첫 실행을 미뤄둠
+@SpringBootTest(properties = {
+        "datajpa.outbox.sink=memory",
+        "datajpa.outbox.relay.enabled=true",
+        "datajpa.outbox.relay.initial-delay=3600000"
+})
+class ChangeEventOutboxTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired ChangeEventRepository changeEventRepository;
+    @Autowired ChangeEventRelay changeEventRelay;
+    @Autowired InMemoryChangeEventSink sink;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void captureAndRelay() {
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team teamA = teamRepository.save(new Team("outboxTeamA"));
+        Team teamB = teamRepository.save(new Team("outboxTeamB"));
+        Long memberId = tx.execute(status -> memberRepository.save(new Member("outboxMember", 50, teamA)).getId());
+
+        // when: 변경감지(changeTeam), 벌크 update, 삭제
+        tx.executeWithoutResult(status -> memberRepository.findById(memberId).get()
+                .changeTeam(teamRepository.findById(teamB.getId()).get()));
+        memberRepository.bulkAgePlus(50);
+        memberRepository.deleteById(memberId);
+
+        // then
+        List<ChangeOperation> operations = changeEventRepository.findAll().stream()
+                .filter(e -> "Member".equals(e.getAggregateType()) && memberId.equals(e.getAggregateId()))
+                .map(ChangeEvent::getOperation)
+                .collect(Collectors.toList());
+        assertThat(operations).containsExactly(
+                ChangeOperation.INSERT, ChangeOperation.UPDATE, ChangeOperation.UPDATE, ChangeOperation.DELETE);
+
+        sink.clear();
+        while (changeEventRelay.relay() > 0) {
+            // 남은 이벤트가 없을 때까지 발행
+        }
+        assertThat(sink.getPublished()).extracting(ChangeEvent::getAggregateId).contains(memberId, teamA.getId());
+        assertThat(changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 1))).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package study.datajpa.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class IdGeneratorTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    void timeOrderedIds() throws Exception {
+        // given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when: 8개 스레드에서 동시에 발급
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long previous = 0;
+                for (int i = 0; i < 50_000; i++) {
+                    long id = generator.nextId();
+                    assertThat(id).isGreaterThan(previous); // 한 스레드 안에서는 항상 증가
+                    previous = id;
+                    ids.add(id);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then: 중복 없음, 시각 복원 가능
+        assertThat(ids).hasSize(8 * 50_000);
+        long id = generator.nextId();
+        assertThat(TimeOrderedIdGenerator.timestampOf(id)).isGreaterThanOrEqualTo(System.currentTimeMillis() - 60_000);
+    }
+
+    // 간단한 insert 처리량 측정 (pooled-lo면 allocation-size 만큼은 시퀀스 호출 없이 insert)
+    @Test
+    @Transactional
+    @Rollback
+    void insertThroughput() {
+        int count = 5_000;
+        long start = System.nanoTime();
+        Long previous = null;
+        for (int i = 0; i < count; i++) {
+            Member member = memberRepository.save(new Member("idMember" + i, i % 100));
+            if (previous != null) {
+                assertThat(member.getId()).isGreaterThan(previous);
+            }
+            previous = member.getId();
+            if (i % 500 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("inserted " + count + " members in " + elapsedMs + "ms (" + (count * 1000L / Math.max(1, elapsedMs)) + "/s)");
+    }
+}
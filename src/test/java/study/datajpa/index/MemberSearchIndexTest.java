@@ -0,0 +1,64 @@
+package study.datajpa.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.MemberSearchService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 색인은 커밋된 변경만 반영하므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest
+class MemberSearchIndexTest {
+
+    @Autowired MemberSearchIndex memberSearchIndex;
+    @Autowired MemberSearchService memberSearchService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void searchRanked() {
+        // given
+        assertThat(memberSearchIndex.isReady()).isTrue();
+        Team team = teamRepository.save(new Team("zebraSearchTeam"));
+        Member prefix = memberRepository.save(new Member("zebraKim", 10));
+        Member contains = memberRepository.save(new Member("theZebraLee", 20));
+        Member byTeam = memberRepository.save(new Member("searchPark", 30, team));
+
+        // then: 접두사 > 포함 > 팀 이름
+        assertThat(memberSearchIndex.search("ZEBRA", 10))
+                .containsExactly(prefix.getId(), contains.getId(), byTeam.getId());
+        assertThat(memberSearchService.search("zebra", 10)).extracting(MemberDto::getUsername)
+                .containsExactly("zebraKim", "theZebraLee", "searchPark");
+        assertThat(memberSearchIndex.search("zebra", 1)).containsExactly(prefix.getId());
+        assertThat(memberSearchIndex.search("zebra", 2)).containsExactly(prefix.getId(), contains.getId());
+        assertThat(memberSearchIndex.search("ze", 10)).isEmpty(); // 3글자 미만은 검색하지 않음
+        assertThat(memberSearchIndex.search("zebra", -1)).isEmpty();
+
+        // when: username 변경, 팀 이름 변경
+        contains.setUsername("theLee");
+        memberRepository.save(contains);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                teamRepository.findById(team.getId()).get().setName("otherTeam"));
+
+        // then
+        assertThat(memberSearchIndex.search("zebra", 10)).containsExactly(prefix.getId());
+        assertThat(memberSearchIndex.search("othertea", 10)).containsExactly(byTeam.getId());
+
+        // when: 삭제
+        memberRepository.deleteById(prefix.getId());
+        assertThat(memberSearchIndex.search("zebra", 10)).isEmpty();
+
+        memberRepository.deleteById(contains.getId());
+        memberRepository.deleteById(byTeam.getId());
+        teamRepository.deleteById(team.getId());
+    }
+}
@@ -0,0 +1,75 @@
+package study.datajpa.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberUsernameService;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 필터는 커밋된 변경만 반영하므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest(properties = {
+        "datajpa.username-filter.enabled=true",
+        "datajpa.username-filter.expected-insertions=10000"
+})
+class UsernameFilterTest {
+
+    @Autowired UsernameFilter usernameFilter;
+    @Autowired MemberUsernameService memberUsernameService;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void bloomFilterFpp() {
+        // given
+        UsernameBloomFilter filter = new UsernameBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member" + i);
+        }
+
+        // then: 넣은 건 절대 놓치지 않음
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("member" + i)).isTrue();
+        }
+
+        // then: 없는 이름 10만 개 중 오탐 비율이 목표(1%) 근처
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+        System.out.println("falsePositives = " + falsePositives + ", memoryBytes = " + filter.memoryBytes());
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.estimatedFpp()).isLessThan(0.02);
+    }
+
+    @Test
+    void skipMissingUsername() {
+        // given
+        assertThat(usernameFilter.isReady()).isTrue();
+        Member member = memberRepository.save(new Member("filterUserA", 10));
+
+        // then: insert는 바로 반영되어서 조회됨
+        assertThat(memberUsernameService.findOptionalByUsername("filterUserA")).isPresent();
+        assertThat(memberUsernameService.findByUser("filterUserA")).extracting("id").containsExactly(member.getId());
+
+        // when: 없는 이름은 DB까지 안 가고 걸러짐
+        for (int i = 0; i < 1000; i++) {
+            assertThat(memberUsernameService.findOptionalByUsername("filterMissing" + i)).isEmpty();
+        }
+
+        Map<String, Object> stats = usernameFilter.stats();
+        System.out.println("stats = " + stats);
+        assertThat((long) stats.get("skipped")).isGreaterThan(900L);
+        assertThat(usernameFilter.mightExist(null)).isTrue(); // null은 DB에 맡김
+
+        // when: 삭제 후 재구축하면 필터에서도 빠짐
+        memberRepository.deleteById(member.getId());
+        usernameFilter.rebuild();
+        assertThat(usernameFilter.mightExist("filterUserA")).isFalse();
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 인덱스는 커밋된 변경만 반영하므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest(properties = "datajpa.username-index.enabled=true")
+class UsernameIndexTest {
+
+    @Autowired UsernameIndex usernameIndex;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void followCommittedChanges() {
+        // given
+        assertThat(usernameIndex.isReady()).isTrue();
+        Member member = memberRepository.save(new Member("indexUserA", 10));
+
+        // then: insert 반영
+        assertThat(usernameIndex.exists("indexUserA")).isTrue();
+        assertThat(usernameIndex.findIds("indexUserA")).contains(member.getId());
+        assertThat(usernameIndex.findUsernamesByPrefix("indexUser", 10)).contains("indexUserA");
+
+        // when: update (이전 이름은 빠지고 새 이름으로)
+        member.setUsername("indexUserB");
+        memberRepository.save(member);
+
+        assertThat(usernameIndex.exists("indexUserA")).isFalse();
+        assertThat(usernameIndex.exists("indexUserB")).isTrue();
+
+        // when: delete
+        memberRepository.deleteById(member.getId());
+        assertThat(usernameIndex.exists("indexUserB")).isFalse();
+    }
+
+    @Test
+    void nullUsername() {
+        // given: username이 null인 회원 (컬럼이 nullable)
+        Member member = memberRepository.save(new Member(null, 10));
+
+        // then: 이벤트 반영도, 다시 적재해도 예외 없이 이름 인덱스에는 안 들어감
+        usernameIndex.load();
+        assertThat(usernameIndex.exists(null)).isFalse();
+        assertThat(usernameIndex.findIds(null)).isEmpty();
+
+        // when: 이름이 생겼다가 다시 null로
+        member.setUsername("indexNullable");
+        memberRepository.save(member);
+        assertThat(usernameIndex.findIds("indexNullable")).containsExactly(member.getId());
+        member.setUsername(null);
+        memberRepository.save(member);
+        assertThat(usernameIndex.exists("indexNullable")).isFalse();
+
+        memberRepository.deleteById(member.getId());
+    }
+}
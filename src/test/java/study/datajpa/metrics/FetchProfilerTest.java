@@ -0,0 +1,88 @@
+package study.datajpa.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.FetchPlan;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 트랜잭션이 끝나는 시점에 접근 여부를 기록하므로 호출마다 별도 트랜잭션으로 실행
+@SpringBootTest(properties = {
+        "datajpa.fetch-profiler.min-samples=3",
+        "datajpa.fetch-profiler.resample-every=1000"
+})
+class FetchProfilerTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired FetchProfiler fetchProfiler;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void fetchPlan() {
+        // given
+        Team team = teamRepository.save(new Team("fetchPlanTeam"));
+        memberRepository.save(new Member("fetchPlanMember", 10, team));
+        PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+
+        // when & then: 호출하는 쪽이 고른 대로 조회
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member lazy = memberRepository.findByUsernameWithPlan("fetchPlanMember", FetchPlan.lazy()).get(0);
+            assertThat(util.isLoaded(lazy, "team")).isFalse();
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member withTeam = memberRepository.findByUsernameWithPlan("fetchPlanMember", FetchPlan.of("team")).get(0);
+            assertThat(util.isLoaded(withTeam, "team")).isTrue();
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void profiledPlan() {
+        // given
+        Team team = teamRepository.save(new Team("profiledTeam"));
+        memberRepository.save(new Member("profiledMember", 10, team));
+        PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+
+        // when: 처음 3번은 지연로딩으로 조회하면서 team 접근 여부를 기록
+        for (int i = 0; i < 3; i++) {
+            List<Member> members = findProfiled(true);
+            assertThat(util.isLoaded(members.get(0), "team")).isTrue(); // 접근해서 초기화된 것
+        }
+
+        // then: 이후엔 team을 같이 조회 (접근하지 않아도 이미 로딩됨)
+        List<Member> members = findProfiled(false);
+        assertThat(util.isLoaded(members.get(0), "team")).isTrue();
+
+        Map<String, Object> report = fetchProfiler.report();
+        Map<String, Object> profile = (Map<String, Object>) report.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("findByUsernameWithPlan <- " + FetchProfilerTest.class.getName()))
+                .findFirst().orElseThrow().getValue();
+        assertThat(profile.get("samples")).isEqualTo(3L);
+        assertThat((Iterable<String>) profile.get("recommended")).containsExactly("team");
+    }
+
+    // 호출 위치가 같아야 같은 프로파일에 쌓임
+    private List<Member> findProfiled(boolean accessTeam) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Member> members = memberRepository.findByUsernameWithPlan("profiledMember", FetchPlan.profiled());
+            if (accessTeam) {
+                members.forEach(member -> member.getTeam().getName());
+            }
+            return members;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package study.datajpa.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 모든 호출이 느린 쿼리로 잡히도록 기준을 0으로
+@SpringBootTest(properties = "datajpa.repository.slow-threshold=0ms")
+@Transactional
+class RepositoryMetricsTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired RepositoryMetricsEndpoint repositoryMetricsEndpoint;
+    @Autowired EntityManager em;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordRepositoryMetrics() {
+        // given
+        memberRepository.save(new Member("metricsMember", 10));
+        memberRepository.save(new Member("metricsMember", 20));
+        em.flush();
+        em.clear();
+
+        // when
+        memberRepository.findListByUsername("metricsMember");
+        memberRepository.findListByUsername("metricsMember");
+
+        // then
+        Map<String, Object> metrics = repositoryMetricsEndpoint.metrics();
+        Map<String, Map<String, Object>> methods = (Map<String, Map<String, Object>>) metrics.get("methods");
+        Map<String, Object> stats = methods.get("MemberRepository.findListByUsername");
+        System.out.println("stats = " + stats);
+        assertThat((long) stats.get("count")).isGreaterThanOrEqualTo(2L);
+        assertThat(stats).containsKeys("p50Ms", "p99Ms", "rowsMean", "entitiesMean");
+        assertThat((double) stats.get("rowsMean")).isGreaterThanOrEqualTo(2.0);
+
+        // 상위 인터페이스 메서드(save)도 MemberRepository 이름으로 기록
+        assertThat(methods).containsKey("MemberRepository.save");
+
+        assertThat(repositoryMetricsEndpoint.metrics().get("slowQueries")).asList()
+                .extracting("parameters").contains("[metricsMember]");
+    }
+}
@@ -0,0 +1,110 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.metrics.HydrationCounter;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExistenceQueryTest {
+
+    // 엔티티를 다 만들어 놓고 있는지/몇 개인지만 보는 호출 -> existsBy / countBy 로 바꿀 것
+    private static final Pattern ENTITY_LOADING_CHECK = Pattern.compile(
+            "\\.(find|read|get|query)\\w*\\([^;]*\\)\\)?\\.(isPresent|isEmpty|size)\\(\\)");
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    void existsAndCount() {
+        // given
+        Team team = teamRepository.save(new Team("countTeam"));
+        memberRepository.save(new Member("existsMember", 10, team));
+        memberRepository.save(new Member("existsMember", 20, team));
+        memberRepository.save(new Member("countOnly", 30));
+        em.flush();
+        em.clear();
+        long olderBefore = memberRepository.countByAgeGreaterThan(15);
+
+        // then
+        assertThat(memberRepository.existsByUsername("existsMember")).isTrue();
+        assertThat(memberRepository.existsByUsername("noSuchMember")).isFalse();
+        assertThat(memberRepository.countByTeam(team)).isEqualTo(2);
+
+        memberRepository.save(new Member("countOlder", 40));
+        em.flush();
+        assertThat(memberRepository.countByAgeGreaterThan(15)).isEqualTo(olderBefore + 1);
+    }
+
+    @Test
+    void existsDoesNotHydrateEntities() {
+        // given: 같은 username 2000명
+        for (int i = 0; i < 2000; i++) {
+            memberRepository.save(new Member("existsBench", i));
+        }
+        em.flush();
+        em.clear();
+
+        // when: 엔티티 조회 후 isEmpty vs exists (각각 20번)
+        long hydratedBefore = HydrationCounter.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            boolean taken = !memberRepository.findListByUsername("existsBench").isEmpty();
+            assertThat(taken).isTrue();
+            em.clear();
+        }
+        long listNanos = System.nanoTime() - start;
+        long listHydrated = HydrationCounter.current() - hydratedBefore;
+
+        hydratedBefore = HydrationCounter.current();
+        start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThat(memberRepository.existsByUsername("existsBench")).isTrue();
+        }
+        long existsNanos = System.nanoTime() - start;
+        long existsHydrated = HydrationCounter.current() - hydratedBefore;
+
+        // then
+        System.out.println("findList.isEmpty: " + listNanos / 20 / 1000 + "us, entities=" + listHydrated
+                + " / exists: " + existsNanos / 20 / 1000 + "us, entities=" + existsHydrated);
+        assertThat(listHydrated).isEqualTo(20 * 2000L);
+        assertThat(existsHydrated).isZero();
+    }
+
+    @Test
+    void noEntityLoadingExistenceChecks() throws IOException {
+        // 정적 검사: 메인 코드에 findXxx(..).isEmpty() / isPresent() / size() 같은 호출이 없어야 함
+        List<String> violations = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(Paths.get("src/main/java"))) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                List<String> lines = Files.readAllLines(file);
+                for (int i = 0; i < lines.size(); i++) {
+                    Matcher matcher = ENTITY_LOADING_CHECK.matcher(lines.get(i));
+                    if (matcher.find()) {
+                        violations.add(file + ":" + (i + 1) + " " + lines.get(i).trim());
+                    }
+                }
+            }
+        }
+        assertThat(violations).as("existsBy/countBy 쿼리를 사용하세요").isEmpty();
+    }
+}
@@ -3,20 +3,59 @@ package study.datajpa.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Item;
+import study.datajpa.id.UuidV7Generator;
 
-import static org.junit.jupiter.api.Assertions.*;
+import javax.persistence.EntityManager;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class ItemRepositoryTest {
 
     @Autowired ItemRepository itemRepository;
+    @Autowired EntityManager em;
 
     @Test
     void save() {
         // given
-        Item item = new Item("1");
+        Item item = Item.create();
         itemRepository.save(item);
     }
-    
-}
\ No newline at end of file
+
+    @Test
+    void uuidV7Ordered() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.next();
+            // 문자열(=바이트) 순서로 항상 증가 (UUID.compareTo는 부호 있는 비교라 사용하지 않음)
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            assertThat(next.version()).isEqualTo(7);
+            previous = next;
+        }
+        assertThat(UuidV7Generator.timestampOf(previous)).isLessThanOrEqualTo(System.currentTimeMillis());
+    }
+
+    // 간단한 insert 처리량 측정 (시간순 UUID라 PK 인덱스 끝에만 추가됨)
+    @Test
+    @Transactional
+    @Rollback
+    void insertThroughput() {
+        int count = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            itemRepository.save(Item.create());
+            if (i % 500 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("inserted " + count + " items in " + elapsedMs + "ms (" + (count * 1000L / Math.max(1, elapsedMs)) + "/s)");
+        assertThat(itemRepository.count()).isGreaterThanOrEqualTo(count);
+    }
+}
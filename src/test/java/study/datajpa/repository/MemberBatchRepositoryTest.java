@@ -0,0 +1,89 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// StatelessSession은 자체 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberBatchRepositoryTest {
+
+    @Autowired MemberBatchRepository memberBatchRepository;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void statelessReadWrite() {
+        // given
+        int size = 20_000;
+        Team team = new Team("batchTeam");
+        memberBatchRepository.insertAll(List.of(team));
+
+        // when: insert (1000건씩 만들어서 넣고 버림)
+        long start = System.nanoTime();
+        for (int from = 0; from < size; from += 1000) {
+            List<Member> members = new ArrayList<>(1000);
+            for (int i = from; i < from + 1000; i++) {
+                members.add(new Member("batchMember" + i, i % 100, team));
+            }
+            memberBatchRepository.insertAll(members);
+            team.getMembers().clear(); // changeTeam이 team.members에 넣어둔 회원을 놓아줌 (안 그러면 전부 힙에 남음)
+        }
+        System.out.println("stateless insert " + size + " = " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        // then: Auditing 값이 채워지고 일반 리포지토리로도 조회됨
+        Member first = memberRepository.findListByUsername("batchMember0").get(0);
+        assertThat(first.getCreatedDate()).isNotNull();
+        assertThat(first.getTeam().getId()).isEqualTo(team.getId());
+
+        // when: 1000건씩 읽고 바로 update (영속성 컨텍스트도, 모아두는 리스트도 없어서 힙 사용량이 건수에 비례해서 늘지 않음)
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong peak = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        long read = memberBatchRepository.forEachMemberChunk(1000, chunk -> {
+            List<Member> batch = new ArrayList<>(chunk.size());
+            for (Member member : chunk) {
+                if (member.getUsername().startsWith("batchMember")) {
+                    member.setAge(member.getAge() + 1);
+                    batch.add(member);
+                }
+            }
+            memberBatchRepository.updateAll(batch);
+            updated.addAndGet(batch.size());
+            peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+        });
+        System.out.println("stateless read " + read + " rows, heap growth ~" + (peak.get() - usedBefore) / 1024 / 1024 + "MB");
+
+        // then
+        assertThat(read).isGreaterThanOrEqualTo(size);
+        assertThat(updated.get()).isEqualTo(size);
+        assertThat(memberRepository.findListByUsername("batchMember0").get(0).getAge()).isEqualTo(1);
+
+        // when: 삭제 (읽은 페이지를 바로 지워도 다음 페이지는 마지막 id 뒤부터)
+        AtomicLong deleted = new AtomicLong();
+        memberBatchRepository.forEachMemberChunk(1000, chunk -> {
+            List<Member> batch = new ArrayList<>(chunk.size());
+            for (Member member : chunk) {
+                if (member.getUsername().startsWith("batchMember")) {
+                    batch.add(member);
+                }
+            }
+            memberBatchRepository.deleteAll(batch);
+            deleted.addAndGet(batch.size());
+        });
+        memberBatchRepository.deleteAll(List.of(team));
+
+        // then
+        assertThat(deleted.get()).isEqualTo(size);
+        assertThat(memberRepository.findListByUsername("batchMember0")).isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberSnapshot;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.service.HistoryRetentionJob;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 이력은 커밋 직전에 아웃박스와 같이 기록되므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest
+class MemberHistoryRepositoryTest {
+
+    @Autowired MemberHistoryRepository memberHistoryRepository;
+    @Autowired EntityHistoryRepository entityHistoryRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired HistoryRetentionJob historyRetentionJob;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void asOf() throws InterruptedException {
+        // given: 생성 -> 나이 변경 -> 팀 변경 -> 삭제, 사이사이 시점 기록
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team team = teamRepository.save(new Team("historyTeam"));
+        Instant beforeCreate = tick();
+        Long id = memberRepository.save(new Member("historyMember", 20)).getId();
+        Instant created = tick();
+        tx.executeWithoutResult(status -> memberRepository.findById(id).get().setAge(21));
+        Instant aged = tick();
+        tx.executeWithoutResult(status -> memberRepository.findById(id).get().changeTeam(teamRepository.findById(team.getId()).get()));
+        Instant moved = tick();
+        memberRepository.deleteById(id);
+        Instant deleted = tick();
+
+        // then
+        assertThat(memberHistoryRepository.asOf(id, beforeCreate)).isEmpty();
+        assertThat(memberHistoryRepository.asOf(id, created)).get()
+                .extracting(MemberSnapshot::getUsername, MemberSnapshot::getAge, MemberSnapshot::getTeamId)
+                .containsExactly("historyMember", 20, null);
+        assertThat(memberHistoryRepository.asOf(id, aged)).get().extracting(MemberSnapshot::getAge).isEqualTo(21);
+        assertThat(memberHistoryRepository.asOf(id, moved)).get().extracting(MemberSnapshot::getTeamId).isEqualTo(team.getId());
+        assertThat(memberHistoryRepository.asOf(id, deleted)).isEmpty();
+        assertThat(memberHistoryRepository.history(id)).extracting(MemberSnapshot::getAge).containsExactly(20, 21, 21);
+
+        teamRepository.deleteById(team.getId());
+    }
+
+    @Test
+    void compaction() throws InterruptedException {
+        // given: 변경 3번
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = memberRepository.save(new Member("compactMember", 30)).getId();
+        tx.executeWithoutResult(status -> memberRepository.findById(id).get().setAge(31));
+        Instant beforeLast = tick();
+        tx.executeWithoutResult(status -> memberRepository.findById(id).get().setAge(32));
+        Instant afterLast = tick();
+        long rowsBefore = entityHistoryRepository.findByEntityTypeAndEntityIdOrderByValidFromAscIdAsc("Member", id).size();
+
+        // when: 마지막 변경 직전 시점을 보존 기간 경계로 정리 (같은 DB를 쓰는 다른 테스트 이력은 건드리지 않게 이 회원만)
+        historyRetentionJob.compact("Member", id, beforeLast);
+
+        // then: 경계 시점 상태(31)를 만드는 행 + 그 이후 행만 남고, 경계 이후 시점 조회 결과는 그대로
+        assertThat(rowsBefore).isEqualTo(3);
+        assertThat(memberHistoryRepository.history(id)).extracting(MemberSnapshot::getAge).containsExactly(31, 32);
+        assertThat(memberHistoryRepository.asOf(id, beforeLast)).get().extracting(MemberSnapshot::getAge).isEqualTo(31);
+        assertThat(memberHistoryRepository.asOf(id, afterLast)).get().extracting(MemberSnapshot::getAge).isEqualTo(32);
+
+        memberRepository.deleteById(id);
+    }
+
+    // 변경 시각과 확실히 구분되게 잠깐 쉬고 현재 시각
+    private static Instant tick() throws InterruptedException {
+        Thread.sleep(5);
+        Instant now = Instant.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
@@ -20,6 +20,7 @@ import study.datajpa.entity.Team;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.PrePersist;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -183,6 +184,24 @@ class MemberRepositoryTest {
         assertThat(members.size()).isEqualTo(2);
     }
 
+    @Test
+    @Rollback
+    @DisplayName("4-2-1. 스프링 데이터 JPA - @Query에 JPQL 적용: 접두어 username 조회 (distinct, 정렬, limit은 DB에서)")
+    void findUsernamesByPrefix() {
+        // given
+        memberRepository.save(new Member("prefixC", 10));
+        memberRepository.save(new Member("prefixA", 10));
+        memberRepository.save(new Member("prefixA", 20));
+        memberRepository.save(new Member("prefixB", 10));
+        memberRepository.save(new Member("prefix%Z", 10));
+        memberRepository.save(new Member("otherPrefixA", 10));
+
+        // when & then: 중복 제거 + 이름순 + limit, 접두어 안의 %는 문자 그대로
+        assertThat(memberRepository.findUsernamesByPrefix("prefix", PageRequest.of(0, 2))).containsExactly("prefix%Z", "prefixA");
+        assertThat(memberRepository.findUsernamesByPrefix("prefixA", PageRequest.of(0, 10))).containsExactly("prefixA");
+        assertThat(memberRepository.findUsernamesByPrefix("prefix%", PageRequest.of(0, 10))).containsExactly("prefix%Z");
+    }
+
     @Test
     @DisplayName("4-3. 스프링 데이터 JPA - @Query에 JPQL 적용:  DTO 조회 기법")
     void findMemberDto() {
@@ -330,6 +349,29 @@ class MemberRepositoryTest {
         assertThat(next).isTrue();
     }
 
+    @Test
+    @DisplayName("6-3. 스프링 데이터 JPA - 키셋 페이징 (증분 동기화)")
+    void keysetPaging() {
+        // given
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("sync" + i, 10));
+        }
+        em.flush();
+        em.clear();
+        LocalDateTime until = LocalDateTime.now().plusSeconds(1);
+
+        // when: 첫 페이지 -> 마지막 행의 (lastModifiedDate, id)를 다음 조회의 시작점으로
+        List<Member> first = memberRepository.findChangesSince(start, 0L, until, PageRequest.of(0, 3));
+        Member last = first.get(first.size() - 1);
+        List<Member> second = memberRepository.findChangesSince(last.getLastModifiedDate(), last.getId(), until, PageRequest.of(0, 3));
+
+        //then
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(second.size()).isEqualTo(2);
+        assertThat(second).doesNotContainAnyElementsOf(first);
+    }
+
     @Test
     @DisplayName("7. 스프링 데이터 JPA - 벌크성 업데이트")
     void bulkUpdate() {
@@ -513,6 +555,33 @@ class MemberRepositoryTest {
         Assertions.assertThat(result4.size()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("12-1. 스프링 데이터 JPA - 중첩구조 Projection 최적화")
+    void nestedProjectionsDto() {
+        //given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Member m1 = new Member("m1", 0, teamA);
+        Member m2 = new Member("m2", 0);
+        em.persist(m1);
+        em.persist(m2);
+
+        em.flush();
+        em.clear();
+
+        //when
+        // select 절에 m.username, t.team_id, t.name 세 컬럼만 나감 (team 엔티티 전체 select X)
+        List<NestedClosedProjectionsDto> result = memberRepository.findNestedProjectionsByUsername("m1");
+        List<NestedClosedProjectionsDto> noTeam = memberRepository.findNestedProjectionsByUsername("m2");
+
+        //then
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getUsername()).isEqualTo("m1");
+        assertThat(result.get(0).getTeam().getName()).isEqualTo("teamA");
+        assertThat(noTeam.get(0).getTeam()).isNull();
+    }
+
 
     @Test
     @DisplayName("13. 스프링 데이터 JPA - Native Query")
@@ -542,6 +611,16 @@ class MemberRepositoryTest {
             System.out.println("memberProjection = " + memberProjection.getTeamname());
         }
 
+        // on 조건이 빠지면 카티션 곱이 되므로 회원 수 만큼만 나오는지 확인
+        assertThat(result2.getTotalElements()).isEqualTo(2);
+        assertThat(content.size()).isEqualTo(2);
+
+        // 네이티브 쿼리 + 컬럼 index 기반 DTO 변환 (프록시 생성 X)
+        Page<MemberProjection> result4 = memberRepository.findByNativeProjectionDto(PageRequest.of(0, 10));
+        assertThat(result4.getContent().size()).isEqualTo(2);
+        assertThat(result4.getContent().get(0).getUsername()).isEqualTo("m1");
+        assertThat(result4.getContent().get(0).getTeamname()).isEqualTo("teamA");
+
         // 동적 네이티브 쿼리 (하이버네이트를 직접 활용)
 //        String sql = "select m.username as username from member m";
 //        List<MemberDto> result3 = em.createNativeQuery(sql)
@@ -0,0 +1,96 @@
+package study.datajpa.repository;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderedMultiLoadTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    void findAllByIdOrdered() {
+        // given
+        Member m1 = memberRepository.save(new Member("multi1", 10));
+        Member m2 = memberRepository.save(new Member("multi2", 20));
+        Member m3 = memberRepository.save(new Member("multi3", 30));
+        em.flush();
+        em.clear();
+        Member cached = memberRepository.findById(m1.getId()).get(); // 1차 캐시에 올려둠
+        AtomicLong statements = countStatements();
+
+        // when: 순서 뒤섞기 + 중복 + 없는 id + null
+        List<Member> result = memberRepository.findAllByIdOrdered(
+                Arrays.asList(m3.getId(), m1.getId(), -1L, m3.getId(), null, m2.getId()));
+
+        // then: 입력 순서 그대로, 없는 자리는 null, 1차 캐시 엔티티는 그대로 재사용, 나머지(m2, m3, -1)는 쿼리 한 번
+        assertThat(result).extracting(member -> member == null ? null : member.getUsername())
+                .containsExactly("multi3", "multi1", null, "multi3", null, "multi2");
+        assertThat(result.get(1)).isSameAs(cached);
+        assertThat(result.get(0)).isSameAs(result.get(3));
+        assertThat(statements.get()).isEqualTo(1);
+    }
+
+    @Test
+    void batchesInsteadOfQueryPerId() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(memberJpaRepository.save(new Member("multiBatch" + i, i)).getId());
+        }
+        em.flush();
+        em.clear();
+        AtomicLong statements = countStatements();
+
+        // when: id마다 find
+        long start = System.nanoTime();
+        for (Long id : ids) {
+            memberJpaRepository.find(id);
+        }
+        long perIdStatements = statements.getAndSet(0);
+        long perIdNanos = System.nanoTime() - start;
+        em.clear();
+
+        // when: 한 번에
+        start = System.nanoTime();
+        List<Member> members = memberJpaRepository.findAllByIdOrdered(ids);
+        long batchStatements = statements.get();
+        long batchNanos = System.nanoTime() - start;
+
+        // then: 500개씩 in 절 -> 3번
+        System.out.println("find x " + ids.size() + ": " + perIdStatements + " queries, " + perIdNanos / 1_000_000 + "ms"
+                + " / findAllByIdOrdered: " + batchStatements + " queries, " + batchNanos / 1_000_000 + "ms");
+        assertThat(perIdStatements).isEqualTo(ids.size());
+        assertThat(batchStatements).isEqualTo(3);
+        assertThat(members).extracting(Member::getId).containsExactlyElementsOf(ids);
+    }
+
+    // 이 테스트 트랜잭션의 세션에서 준비한 statement 수만 셈
+    // (SessionFactory 통계는 스케줄 작업 등 다른 세션의 쿼리까지 합쳐짐)
+    private AtomicLong countStatements() {
+        AtomicLong count = new AtomicLong();
+        em.unwrap(Session.class).addEventListeners(new BaseSessionEventListener() {
+            @Override
+            public void jdbcPrepareStatementEnd() {
+                count.incrementAndGet();
+            }
+        });
+        return count;
+    }
+}
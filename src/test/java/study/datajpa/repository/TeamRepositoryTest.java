@@ -0,0 +1,117 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    void findAllWithMembers() {
+        // given: 팀 5개, 팀마다 회원 3명
+        for (int i = 0; i < 5; i++) {
+            Team team = teamRepository.save(new Team("pagedTeam" + i));
+            for (int j = 0; j < 3; j++) {
+                memberRepository.save(new Member("pagedMember" + i + "_" + j, j, team));
+            }
+        }
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"));
+
+        // when
+        Page<Team> page = teamRepository.findAllWithMembers(pageRequest);
+
+        // then: 일반 페이징과 같은 팀이 같은 순서로, members는 이미 로딩된 상태
+        Page<Team> expected = teamRepository.findAll(pageRequest);
+        assertThat(page.getContent()).extracting("id")
+                .containsExactlyElementsOf(expected.getContent().stream().map(Team::getId).collect(Collectors.toList()));
+        assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (Team team : page.getContent()) {
+            assertThat(util.isLoaded(team, "members")).isTrue();
+        }
+    }
+
+    @Test
+    void idTieBreakerOnNonUniqueSort() {
+        // given: 이름이 같은 팀 여러 개
+        for (int i = 0; i < 6; i++) {
+            teamRepository.save(new Team("tieTeam"));
+        }
+        em.flush();
+        em.clear();
+
+        // when: 유일하지 않은 name으로만 정렬해도
+        for (int page = 0; page < 3; page++) {
+            Page<Team> result = teamRepository.findAllWithMembers(PageRequest.of(page, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+            // then: name, id 순으로 고정된 페이지와 같음
+            Page<Team> expected = teamRepository.findAll(PageRequest.of(page, 2, Sort.by(Sort.Direction.DESC, "name", "id")));
+            assertThat(result.getContent()).extracting("id")
+                    .containsExactlyElementsOf(expected.getContent().stream().map(Team::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void findAllWithPlanOverCollection() {
+        // given
+        Team team = teamRepository.save(new Team("planTeam"));
+        memberRepository.save(new Member("planMember1", 10, team));
+        memberRepository.save(new Member("planMember2", 20, team));
+        em.flush();
+        em.clear();
+
+        // when: 회원 -> 팀 -> 팀의 회원들(컬렉션)까지 그래프로 조회해도 DB에서 페이징
+        // (가장 최근에 바뀐 회원 순 -> 방금 저장한 두 명이 첫 페이지에 들어옴)
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "lastModifiedDate"));
+        Page<Member> page = memberRepository.findAllWithPlan(pageRequest, FetchPlan.of("team.members"));
+
+        // then: 팀과 팀의 members 컬렉션까지 이미 로딩된 상태
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(page.getContent()).extracting("username").contains("planMember1", "planMember2");
+        for (Member member : page.getContent()) {
+            if (member.getTeam() != null) {
+                assertThat(util.isLoaded(member, "team")).isTrue();
+                assertThat(util.isLoaded(member.getTeam(), "members")).isTrue();
+            }
+        }
+
+        // then: 그래프 없이 (lastModifiedDate, id) 로 페이징한 것과 같은 회원이 같은 순서로
+        Page<Member> expected = memberRepository.findAll(
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "lastModifiedDate", "id")));
+        assertThat(page.getContent()).extracting("id")
+                .containsExactlyElementsOf(expected.getContent().stream().map(Member::getId).collect(Collectors.toList()));
+        assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+    }
+
+    @Test
+    void failOnPaginationOverCollectionFetch() {
+        // 컬렉션 페치 조인 + 페이징은 메모리 페이징 대신 바로 예외
+        assertThatThrownBy(() -> em.createQuery("select t from Team t left join fetch t.members", Team.class)
+                .setFirstResult(0)
+                .setMaxResults(10)
+                .getResultList())
+                .hasMessageContaining("In memory pagination was about to be applied");
+    }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// content/count 쿼리가 다른 스레드의 트랜잭션에서 실행되므로 테스트 데이터는 커밋되어 있어야 함 (@Transactional X)
+@SpringBootTest
+class MemberQueryServiceTest {
+
+    @Autowired MemberQueryService memberQueryService;
+    @Autowired MemberRepository memberRepository;
+
+    // 다른 테스트가 쓰지 않는 나이 (같은 DB를 공유하므로 건수 검증이 다른 테스트 데이터와 섞이지 않게)
+    private static final int AGE = 177;
+    private final List<Member> saved = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAll(saved);
+    }
+
+    @Test
+    void findByAgeInParallel() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            saved.add(memberRepository.save(new Member("parallel" + i, AGE)));
+        }
+
+        // when
+        Page<Member> page = memberQueryService.findByAge(AGE, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")));
+
+        // then
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getContent().get(0).getUsername()).isEqualTo("parallel5");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+}
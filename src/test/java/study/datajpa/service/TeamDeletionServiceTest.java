@@ -0,0 +1,84 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배치마다 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class TeamDeletionServiceTest {
+
+    @Autowired TeamDeletionService teamDeletionService;
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager em;
+
+    @Test
+    void deleteTeamInBatches() {
+        // given
+        int size = 3000;
+        Long bulkTeamId = createTeam("bulkDeleteTeam", size);
+        Long entityTeamId = createTeam("entityDeleteTeam", size);
+        Long detachTeamId = createTeam("detachTeam", 10);
+
+        // when: 벌크 삭제
+        List<Long> progress = new ArrayList<>();
+        long start = System.nanoTime();
+        long deleted = teamDeletionService.deleteTeam(bulkTeamId, TeamDeletionService.MemberHandling.DELETE, 500,
+                (processed, total) -> progress.add(processed));
+        long bulkMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 비교: 엔티티를 하나씩 삭제
+        start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team team = em.find(Team.class, entityTeamId);
+            for (Member member : team.getMembers()) {
+                em.remove(member);
+            }
+            em.remove(team);
+        });
+        long entityMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("bulk delete = " + bulkMs + "ms, entity-by-entity delete = " + entityMs + "ms");
+
+        // then
+        assertThat(deleted).isEqualTo(size);
+        assertThat(progress).containsExactly(500L, 1000L, 1500L, 2000L, 2500L, 3000L);
+        assertThat(teamRepository.findById(bulkTeamId)).isEmpty();
+
+        // when: 회원은 남기고 팀만 삭제
+        teamDeletionService.deleteTeam(detachTeamId, TeamDeletionService.MemberHandling.DETACH);
+
+        // then
+        assertThat(teamRepository.findById(detachTeamId)).isEmpty();
+        List<Member> detached = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            detached.addAll(memberRepository.findListByUsername("detachTeam-member" + i));
+        }
+        assertThat(detached).hasSize(10);
+        assertThat(detached).allMatch(member -> member.getTeam() == null);
+        memberRepository.deleteAll(detached); // 남겨둔 회원 10명 정리 (같은 DB를 쓰는 다른 테스트의 건수에 영향 없게)
+    }
+
+    private Long createTeam(String name, int memberCount) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Team team = teamRepository.save(new Team(name));
+            for (int i = 0; i < memberCount; i++) {
+                memberRepository.save(new Member(name + "-member" + i, i % 100, team));
+            }
+            return team.getId();
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package study.datajpa.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 샤드마다 H2 인메모리 DB를 띄우므로 로컬 H2 서버 없이 실행 가능
+@SpringBootTest(properties = "datajpa.shard.count=2")
+class ShardedMemberRepositoryTest {
+
+    @Autowired ShardedMemberRepository shardedMemberRepository;
+
+    @Test
+    void routeAndScatterGather() {
+        // given
+        Team teamA = null;
+        Team teamB = null;
+        // 이름 해시로 샤드가 정해지므로 0번, 1번 샤드에 하나씩 들어갈 때까지 팀 생성
+        for (int i = 0; teamA == null || teamB == null; i++) {
+            Team team = shardedMemberRepository.saveTeam(new Team("team" + i));
+            if (ShardIds.shardOf(team.getId()) == 0 && teamA == null) {
+                teamA = team;
+            } else if (ShardIds.shardOf(team.getId()) == 1 && teamB == null) {
+                teamB = team;
+            }
+        }
+
+        Member member1 = shardedMemberRepository.save(new Member("member1", 10, teamA));
+        Member member2 = shardedMemberRepository.save(new Member("member2", 20, teamB));
+        Member member3 = shardedMemberRepository.save(new Member("member3", 30, teamA));
+        Member member4 = shardedMemberRepository.save(new Member("member4", 40, teamB));
+
+        // then: 회원은 팀과 같은 샤드에 저장되고, id만으로 다시 찾을 수 있음
+        assertThat(ShardIds.shardOf(member1.getId())).isEqualTo(0);
+        assertThat(ShardIds.shardOf(member2.getId())).isEqualTo(1);
+        assertThat(shardedMemberRepository.findById(member2.getId()).get().getUsername()).isEqualTo("member2");
+
+        // 여러 샤드에 걸친 조회
+        List<Member> byNames = shardedMemberRepository.findByNames(Arrays.asList("member1", "member2"));
+        assertThat(byNames.size()).isEqualTo(2);
+
+        Page<Member> page = shardedMemberRepository.findAll(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "age")));
+        List<String> usernames = page.getContent().stream().map(Member::getUsername).collect(Collectors.toList());
+        assertThat(usernames).containsExactly("member2", "member1");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        shardedMemberRepository.delete(member3);
+        shardedMemberRepository.delete(member4);
+        assertThat(shardedMemberRepository.findById(member3.getId())).isEmpty();
+    }
+}
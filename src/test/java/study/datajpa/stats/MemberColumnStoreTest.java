@@ -0,0 +1,143 @@
+package study.datajpa.stats;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.TeamAgeStats;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.MemberStatsService;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+// 컬럼 저장소는 커밋된 변경만 반영하므로 테스트 트랜잭션 없이 실제 커밋
+@SpringBootTest
+class MemberColumnStoreTest {
+
+    @Autowired MemberColumnStore memberColumnStore;
+    @Autowired MemberStatsService memberStatsService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void statsFollowChanges() {
+        // given
+        assertThat(memberColumnStore.isReady()).isTrue();
+        Team team = teamRepository.save(new Team("statsTeam"));
+        Member m1 = memberRepository.save(new Member("stats1", 21, team));
+        Member m2 = memberRepository.save(new Member("stats2", 25, team));
+        Member m3 = memberRepository.save(new Member("stats3", 38, team));
+
+        // then
+        TeamAgeStats stats = teamStats(team.getId());
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getMinAge()).isEqualTo(21);
+        assertThat(stats.getMaxAge()).isEqualTo(38);
+        assertThat(stats.getAverageAge()).isEqualTo(28.0);
+        assertThat(memberStatsService.ageHistogram(10, team.getId()))
+                .containsExactly(entry("20-29", 2L), entry("30-39", 1L));
+        assertThat(memberStatsService.agePercentiles(new double[]{50, 100}, team.getId()))
+                .containsExactly(entry(50.0, 25), entry(100.0, 38));
+
+        // when: 나이 변경, 삭제
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(m1.getId()).get().setAge(41));
+        memberRepository.deleteById(m3.getId());
+
+        // then
+        assertThat(memberStatsService.ageHistogram(10, team.getId()))
+                .containsExactly(entry("20-29", 1L), entry("40-49", 1L));
+
+        memberRepository.deleteById(m1.getId());
+        memberRepository.deleteById(m2.getId());
+        teamRepository.deleteById(team.getId());
+    }
+
+    @Test
+    void parallelAggregationMatchesSequential() {
+        // given: 병렬로 나뉠 만큼 많은 행 (실제 DB에 없는 id/팀 -> 끝나고 제거)
+        long fakeTeam = -47L;
+        int rows = 180_000; // 나이 0~89 가 2000명씩
+        for (int i = 0; i < rows; i++) {
+            memberColumnStore.put(-1_000_000L - i, i % 90, fakeTeam);
+        }
+
+        try {
+            // when
+            long start = System.nanoTime();
+            Map<String, Long> histogram = memberStatsService.ageHistogram(30, fakeTeam);
+            System.out.println("histogram " + (System.nanoTime() - start) / 1000 + "us, rows=" + memberColumnStore.size());
+
+            // then
+            assertThat(histogram).containsExactly(entry("0-29", 60_000L), entry("30-59", 60_000L), entry("60-89", 60_000L));
+            assertThat(teamStats(fakeTeam).getCount()).isEqualTo(rows);
+            assertThat(memberStatsService.agePercentiles(new double[]{50}, fakeTeam)).containsEntry(50.0, 44);
+        } finally {
+            for (int i = 0; i < rows; i++) {
+                memberColumnStore.remove(-1_000_000L - i);
+            }
+        }
+        assertThat(memberStatsService.ageHistogram(30, fakeTeam)).isEmpty();
+    }
+
+    @Test
+    void changesDoNotWaitForAggregation() throws Exception {
+        // given: 집계가 도는 중 (읽기 락을 잡은 채 멈춰 있음)
+        long fakeTeam = -48L;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Integer> running = executor.submit(() -> memberColumnStore.aggregate((ids, ages, teamIds, from, to) -> {
+                started.countDown();
+                await(release);
+                return 0;
+            }, Integer::sum));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when & then: 커밋 스레드의 변경 반영은 집계를 기다리지 않고 바로 돌아옴
+            executor.submit(() -> memberColumnStore.put(-2_000_000L, 47, fakeTeam)).get(1, TimeUnit.SECONDS);
+
+            // 다른 조회도 쓰기 락을 기다리지 않음 (밀린 변경 없이 읽음)
+            executor.submit(() -> memberColumnStore.size()).get(1, TimeUnit.SECONDS);
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        // then: 밀린 변경은 다음 집계에 반영
+        assertThat(teamStats(fakeTeam).getCount()).isEqualTo(1);
+        memberColumnStore.remove(-2_000_000L);
+        assertThat(memberStatsService.ageHistogram(10, fakeTeam)).isEmpty();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TeamAgeStats teamStats(Long teamId) {
+        return memberStatsService.teamAgeStats().stream()
+                .filter(stats -> teamId.equals(stats.getTeamId()))
+                .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,40 @@
+package study.datajpa.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitTest {
+
+    private static final long TARGET = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void decreaseOncePerWindow() {
+        // given: 상한만큼 실행 중
+        AdaptiveLimit limit = new AdaptiveLimit(20, 1, 100, TARGET);
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        // when: 같은 구간 안에서 20개가 모두 느리게 끝남
+        for (int i = 0; i < 20; i++) {
+            limit.release(TARGET * 2, false);
+        }
+
+        // then: 한 번만 줄어듦 (20 x 0.9 = 18)
+        assertThat(limit.getLimit()).isEqualTo(18);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void increaseWithinTarget() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 100, TARGET);
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.release(1, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(2);
+    }
+}
@@ -0,0 +1,108 @@
+package study.datajpa.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "datajpa.route-guard.initial-limit=2",
+        "datajpa.route-guard.target-latency=20ms"
+})
+class RouteGuardTest {
+
+    @Autowired RouteGuard routeGuard;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void rejectExpensivePageable() {
+        // 인덱스 없는 createdBy 정렬 + size 2000 -> 실행 전에 거절
+        PageRequest expensive = PageRequest.of(0, 2000, Sort.by("createdBy"));
+        assertThatThrownBy(() -> routeGuard.call("expensive", expensive, () -> memberRepository.findAll(expensive)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // 같은 크기라도 인덱스가 있는 id 정렬이면 실행
+        PageRequest indexed = PageRequest.of(0, 2000, Sort.by("id"));
+        assertThat(routeGuard.call("expensive", indexed, () -> memberRepository.findAll(indexed))).isNotNull();
+
+        // 인덱스 정렬 여부는 SortableFields 빈(SortConfig)에서 가져옴: 허용 키 하나 + id 는 인덱스 정렬, 키 조합은 아님
+        assertThat(routeGuard.costOf(PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "username", "id")))).isEqualTo(100);
+        assertThat(routeGuard.costOf(PageRequest.of(0, 100, Sort.by("username", "age")))).isEqualTo(1000);
+
+        assertThat(meterRegistry.counter(RouteGuard.REQUESTS, "route", "expensive", "outcome", "too_expensive").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter(RouteGuard.REQUESTS, "route", "expensive", "outcome", "served").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shedOverLimit() throws Exception {
+        // given: 상한(2)만큼 실행 중인 요청
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<?>[] running = new CompletableFuture<?>[2];
+        for (int i = 0; i < 2; i++) {
+            running[i] = CompletableFuture.runAsync(() -> routeGuard.call("busy", () -> {
+                started.countDown();
+                await(release);
+                return null;
+            }));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when & then: 대기 없이 바로 503
+        assertThatThrownBy(() -> routeGuard.call("busy", () -> "ok"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting("status").isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        release.countDown();
+        CompletableFuture.allOf(running).get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.counter(RouteGuard.REQUESTS, "route", "busy", "outcome", "shed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void limitAdaptsToLatency() {
+        // 목표 지연(20ms)보다 느린 호출이 이어지면 상한이 최소값까지 줄어듦
+        for (int i = 0; i < 10; i++) {
+            routeGuard.call("slow", () -> {
+                sleep(30);
+                return null;
+            });
+        }
+        assertThat(routeGuard.getLimit("slow")).isEqualTo(1);
+
+        // 빠른 호출이 이어지면 다시 늘어남
+        for (int i = 0; i < 10; i++) {
+            routeGuard.call("slow", () -> "fast");
+        }
+        assertThat(routeGuard.getLimit("slow")).isGreaterThan(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package study.datajpa.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class SortableFieldsTest {
+
+    static final SortableFields SORTS = SortableFields.tieBreaker("id")
+            .allow("username")
+            .allow("age")
+            .allow("lastModifiedDate")
+            .allow("recent", "lastModifiedDate")
+            .build();
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManager em;
+
+    @Test
+    void resolve() {
+        // 허용한 키 -> 인덱스 정렬 + 같은 방향의 id
+        Pageable resolved = SORTS.resolve(PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "username")));
+        assertThat(resolved.getSort()).containsExactly(Sort.Order.desc("username"), Sort.Order.desc("id"));
+        assertThat(resolved.getPageNumber()).isEqualTo(1);
+
+        // 별칭 키
+        assertThat(SORTS.resolve(PageRequest.of(0, 10, Sort.by("recent"))).getSort())
+                .containsExactly(Sort.Order.asc("lastModifiedDate"), Sort.Order.asc("id"));
+
+        // 정렬이 없으면 id
+        assertThat(SORTS.resolve(PageRequest.of(0, 10)).getSort()).containsExactly(Sort.Order.asc("id"));
+
+        // 허용 안 된 키는 400
+        assertThatThrownBy(() -> SORTS.resolve(PageRequest.of(0, 10, Sort.by("createdBy"))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // 허용한 키라도 둘 이상 이어 붙이면 ((username, age) 인덱스 없음) 400
+        assertThatThrownBy(() -> SORTS.resolve(PageRequest.of(0, 10, Sort.by("username", "age"))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting("status").isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void isIndexed() {
+        // resolve()가 만드는 정렬
+        assertThat(SORTS.isIndexed(Sort.unsorted())).isTrue();
+        assertThat(SORTS.isIndexed(Sort.by("id"))).isTrue();
+        assertThat(SORTS.isIndexed(Sort.by(Sort.Direction.DESC, "username", "id"))).isTrue();
+        assertThat(SORTS.isIndexed(Sort.by("lastModifiedDate"))).isTrue();
+
+        // 등록 안 된 컬럼, 키 조합, 방향이 섞인 정렬
+        assertThat(SORTS.isIndexed(Sort.by("createdBy"))).isFalse();
+        assertThat(SORTS.isIndexed(Sort.by("username", "age"))).isFalse();
+        assertThat(SORTS.isIndexed(Sort.by(Sort.Order.asc("username"), Sort.Order.desc("id")))).isFalse();
+    }
+
+    @Test
+    void stablePagesWithDuplicateValues() {
+        // given: 전부 같은 age -> id가 없으면 페이지 사이 순서가 보장되지 않음
+        for (int i = 0; i < 30; i++) {
+            memberRepository.save(new Member("sameAge" + i, 77));
+        }
+        em.flush();
+        em.clear();
+
+        // when: 페이지를 이어 붙이면
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Pageable pageable = SORTS.resolve(PageRequest.of(page, 10, Sort.by("age")));
+            memberRepository.findByAge(77, pageable).forEach(member -> ids.add(member.getId()));
+        }
+
+        // then: 중복/누락 없음
+        assertThat(ids).hasSize(30).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void sortedPageLatencyPerKey() {
+        // given
+        for (int i = 0; i < 5000; i++) {
+            memberRepository.save(new Member("sortBench" + (i * 7919 % 5000), i % 100));
+        }
+        em.flush();
+        em.clear();
+
+        // when & then: 허용한 키마다 중간 페이지 조회 시간 (워밍업 후 10번 평균)
+        for (String key : SORTS.getKeys()) {
+            Pageable pageable = SORTS.resolve(PageRequest.of(50, 20, Sort.by(Sort.Direction.DESC, key)));
+            memberRepository.findAll(pageable);
+            long start = System.nanoTime();
+            for (int i = 0; i < 10; i++) {
+                memberRepository.findAll(pageable);
+                em.clear();
+            }
+            System.out.println("sort=" + key + " -> " + pageable.getSort() + " avg " + (System.nanoTime() - start) / 10 / 1000 + "us");
+            assertThat(memberRepository.findAll(pageable).getContent()).hasSize(20);
+        }
+    }
+}